@@ -2,6 +2,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.4.2"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.2"
 	jacoco
 }
 
@@ -21,6 +22,14 @@ configurations {
 	}
 }
 
+val loadTest: SourceSet by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output
+	runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[loadTest.implementationConfigurationName].extendsFrom(configurations.testImplementation.get())
+configurations[loadTest.runtimeOnlyConfigurationName].extendsFrom(configurations.testRuntimeOnly.get())
+
 repositories {
 	mavenCentral()
 }
@@ -30,17 +39,22 @@ dependencies {
 	implementation("io.micrometer:micrometer-registry-prometheus")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
 	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	implementation("org.springframework.boot:spring-boot-starter-aop")
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
 	implementation("org.springframework.boot:spring-boot-starter-jdbc")
 	implementation("org.springframework.boot:spring-boot-starter-security")
 	implementation("org.springframework.boot:spring-boot-starter-web")
+	implementation("com.github.ben-manes.caffeine:caffeine")
+	implementation("com.github.ben-manes.caffeine:jcache")
+	implementation("org.hibernate.orm:hibernate-jcache")
+	implementation("org.hibernate.orm:hibernate-micrometer")
 	implementation("org.jetbrains:annotations:24.0.0")
 	implementation("org.mapstruct:mapstruct:1.6.3")
 	implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.8.4")
 	compileOnly("org.projectlombok:lombok")
 	testCompileOnly("org.projectlombok:lombok")
 	developmentOnly("org.springframework.boot:spring-boot-devtools")
-	runtimeOnly("org.postgresql:postgresql")
+	implementation("org.postgresql:postgresql")
 	testRuntimeOnly("com.h2database:h2:2.3.232")
 	annotationProcessor("org.projectlombok:lombok")
 	testAnnotationProcessor("org.projectlombok:lombok")
@@ -48,8 +62,12 @@ dependencies {
 	annotationProcessor("org.springframework.boot:spring-boot-configuration-processor")
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 	testImplementation("org.mockito:mockito-core:5.15.2")
+	testImplementation("io.zonky.test:embedded-postgres:2.1.0")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 	mockitoAgent("org.mockito:mockito-core:5.15.2") { isTransitive = false }
+	jmhRuntimeOnly("com.h2database:h2:2.3.232")
+	jmhImplementation("io.zonky.test:embedded-postgres:2.1.0")
+	"loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
 }
 
 tasks.withType<Test> {
@@ -57,6 +75,18 @@ tasks.withType<Test> {
 	useJUnitPlatform()
 }
 
+val loadTestTask = tasks.register<Test>("loadTest") {
+	description = "Drives a mix of /api/client requests against the application booted with embedded H2."
+	group = "verification"
+	testClassesDirs = loadTest.output.classesDirs
+	classpath = loadTest.runtimeClasspath
+	shouldRunAfter(tasks.test)
+	outputs.upToDateWhen { false }
+	testLogging.showStandardStreams = true
+	// e.g. ./gradlew loadTest -Pload-test.rate=500 -Pload-test.virtual-threads=true
+	systemProperties(project.properties.filterKeys { it.startsWith("load-test.") })
+	systemProperty("load-test.report-dir", layout.buildDirectory.dir("reports/load-test").get().asFile.path)
+}
 
 tasks.test {
 	finalizedBy(tasks.jacocoTestReport) // Generate report after tests
@@ -84,4 +114,14 @@ tasks.jacocoTestCoverageVerification {
 
 jacoco {
 	toolVersion = "0.8.10"
-}
\ No newline at end of file
+}
+
+jmh {
+	jmhVersion = "1.37"
+	includeTests = true // Benchmarks reuse the in-memory adapters from src/test
+	profilers = listOf("gc") // Report allocations per operation next to latency
+	resultFormat = "JSON"
+	resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+	// e.g. ./gradlew jmh -Pjmh.includes=ItemPartitionBenchmark
+	providers.gradleProperty("jmh.includes").orNull?.let { includes = listOf(it) }
+}
@@ -0,0 +1,75 @@
+package pl.example.spring.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import pl.example.spring.Application;
+import pl.example.spring.api.ClientAddRequest;
+import pl.example.spring.api.ClientBatchItemResult;
+import pl.example.spring.client.ClientService;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares creating {@value #CLIENTS} clients with one {@link ClientService#createAll} call against the same number
+ * of {@link ClientService#create} calls, on an embedded PostgreSQL configured like the `development` profile, with
+ * JDBC batching and `reWriteBatchedInserts`. Results are per client, so the two scores compare directly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OperationsPerInvocation(ClientBatchInsertBenchmark.CLIENTS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientBatchInsertBenchmark {
+
+    static final int CLIENTS = 1000;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private ClientService clientService;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=development", "--logging.level.root=WARN",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres")
+                                + "&reWriteBatchedInserts=true");
+        clientService = context.getBean(ClientService.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<ClientBatchItemResult> createAll() {
+        return clientService.createAll(nextRequests());
+    }
+
+    @Benchmark
+    public long createOneByOne() {
+        long lastId = 0;
+        for (var request : nextRequests()) {
+            lastId = clientService.create(request).getId();
+        }
+        return lastId;
+    }
+
+    private List<ClientAddRequest> nextRequests() {
+        int from = next;
+        next += CLIENTS;
+        return IntStream.range(from, from + CLIENTS).mapToObj(ClientFixtures::request).toList();
+    }
+}
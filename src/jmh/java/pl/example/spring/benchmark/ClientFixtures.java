@@ -0,0 +1,41 @@
+package pl.example.spring.benchmark;
+
+import pl.example.spring.api.ClientAddRequest;
+import pl.example.spring.client.Address;
+import pl.example.spring.client.Client;
+
+/**
+ * Test data shared by the client benchmarks.
+ */
+final class ClientFixtures {
+
+    private ClientFixtures() {
+    }
+
+    static ClientAddRequest request(int number) {
+        return ClientAddRequest.builder()
+                .name("client-" + number)
+                .mail("client-" + number + "@example.com")
+                .street("Marszałkowska")
+                .buildingNumber(number % 200 + 1)
+                .apartmentNumber(number % 3 == 0 ? null : number % 50 + 1)
+                .city("Warszawa")
+                .postalCode("00-001")
+                .build();
+    }
+
+    static Client client(long id) {
+        return Client.builder()
+                .id(id)
+                .name("client-" + id)
+                .mail("client-" + id + "@example.com")
+                .address(Address.builder()
+                        .street("Marszałkowska")
+                        .buildingNumber(1)
+                        .apartmentNumber(5)
+                        .city("Warszawa")
+                        .postalCode("00-001")
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package pl.example.spring.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import pl.example.spring.api.ClientAddRequest;
+import pl.example.spring.api.ClientResponse;
+import pl.example.spring.client.Client;
+import pl.example.spring.client.ClientMapper;
+import pl.example.spring.client.ClientMapperImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the MapStruct-generated conversions between {@link Client} entities and their DTOs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientMapperBenchmark {
+
+    private final ClientMapper mapper = new ClientMapperImpl();
+    private Client client;
+    private ClientAddRequest request;
+
+    @Setup
+    public void setup() {
+        client = ClientFixtures.client(1);
+        request = ClientFixtures.request(1);
+    }
+
+    @Benchmark
+    public ClientResponse toResponse() {
+        return mapper.toResponse(client);
+    }
+
+    @Benchmark
+    public Client toClient() {
+        return mapper.toClient(request);
+    }
+}
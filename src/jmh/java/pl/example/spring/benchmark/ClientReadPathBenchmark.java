@@ -0,0 +1,68 @@
+package pl.example.spring.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import pl.example.spring.Application;
+import pl.example.spring.api.ClientResponse;
+import pl.example.spring.client.ClientMapper;
+import pl.example.spring.client.ClientRepository;
+import pl.example.spring.client.ClientService;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the two ways of reading abbreviated client pages against an embedded H2 database:
+ * loading managed {@link pl.example.spring.client.Client} entities and mapping them with {@link ClientMapper}, versus
+ * projecting the four needed columns straight into {@link ClientResponse} records.
+ *
+ * <p>The context runs with the `benchmark` profile from `src/jmh/resources/application-benchmark.yaml`. Run with the
+ * `gc` profiler (enabled in the build) to compare allocations per page.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientReadPathBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ClientRepository clientRepository;
+    private ClientMapper clientMapper;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=benchmark");
+        clientRepository = context.getBean(ClientRepository.class);
+        clientMapper = context.getBean(ClientMapper.class);
+        context.getBean(ClientService.class)
+                .createAll(IntStream.range(0, CLIENTS).mapToObj(ClientFixtures::request).toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ClientResponse> entityAndMapper() {
+        return clientRepository.findAll(PageRequest.of(10, pageSize)).map(clientMapper::toResponse);
+    }
+
+    @Benchmark
+    public Page<ClientResponse> projection() {
+        return clientRepository.findAllAbbreviated(PageRequest.of(10, pageSize));
+    }
+}
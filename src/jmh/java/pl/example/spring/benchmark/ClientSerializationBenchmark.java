@@ -0,0 +1,56 @@
+package pl.example.spring.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import pl.example.spring.api.ClientResponse;
+import pl.example.spring.client.Client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Measures Jackson serialization of a single {@link Client} and of {@link ClientResponse} pages, as returned by
+ * `/api/client/{id}` and `/api/client/page`.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Client client;
+    private Page<ClientResponse> page;
+
+    @Setup
+    public void setup() {
+        client = ClientFixtures.client(1);
+        page = new PageImpl<>(
+                LongStream.rangeClosed(1, pageSize)
+                        .mapToObj(id -> new ClientResponse(
+                                id, "client-" + id, "client-" + id + "@example.com", "Warszawa"))
+                        .toList(),
+                PageRequest.of(0, pageSize),
+                10_000
+        );
+    }
+
+    @Benchmark
+    public byte[] client() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(client);
+    }
+
+    @Benchmark
+    public byte[] responsePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,71 @@
+package pl.example.spring.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import pl.example.spring.api.ClientResponse;
+import pl.example.spring.api.ClientSlice;
+import pl.example.spring.client.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures {@link ClientServiceImpl} against the in-memory {@link ClientRepositoryAdapter}, so the results reflect
+ * the service, cache and mapping overhead without any database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientServiceBenchmark {
+
+    private static final int CLIENTS = 1000;
+
+    private ValidatorFactory validatorFactory;
+    private ClientService clientService;
+    private long[] ids;
+
+    @Setup
+    public void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        var repository = new ClientRepositoryAdapter();
+        clientService = new ClientServiceImpl(
+                repository,
+                new ClientMapperAdapter(),
+                new ClientCache(new ClientCacheProperties(CLIENTS, Duration.ofHours(1)), new SimpleMeterRegistry()),
+                validatorFactory.getValidator()
+        );
+        clientService.createAll(IntStream.range(0, CLIENTS).mapToObj(ClientFixtures::request).toList());
+        ids = clientService.getAll().stream().mapToLong(Client::getId).toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Client get() {
+        return clientService.get(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public Page<ClientResponse> abbreviatedPage() {
+        return clientService.getAllAbbreviatedData(PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public ClientSlice abbreviatedSlice() {
+        var cursor = ClientCursor.first(ClientSortKey.ID, Sort.Direction.ASC);
+        return clientService.getAbbreviatedDataSlice(cursor, 20, false);
+    }
+}
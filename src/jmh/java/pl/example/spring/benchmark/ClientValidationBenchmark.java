@@ -0,0 +1,58 @@
+package pl.example.spring.benchmark;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import pl.example.spring.api.ClientAddRequest;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Bean Validation of {@link ClientAddRequest}, including the postal code pattern, for valid and invalid
+ * requests.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ClientAddRequest valid;
+    private ClientAddRequest invalidPostalCode;
+
+    @Setup
+    public void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        valid = ClientFixtures.request(1);
+        invalidPostalCode = ClientAddRequest.builder()
+                .name("client")
+                .mail("client@example.com")
+                .buildingNumber(1)
+                .city("Warszawa")
+                .postalCode("00001")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClientAddRequest>> validRequest() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ClientAddRequest>> invalidPostalCode() {
+        return validator.validate(invalidPostalCode);
+    }
+}
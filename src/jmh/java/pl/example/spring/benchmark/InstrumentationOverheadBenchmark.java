@@ -0,0 +1,104 @@
+package pl.example.spring.benchmark;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import pl.example.spring.client.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the cost of timing {@link ClientService} methods: a plain call to the cached {@link ClientService#get}
+ * against the same call wrapped in a histogram {@link Timer} directly, and made through the {@link TimedAspect}
+ * proxy that times the service in the application. Timers are configured like `client.service` in
+ * `application.yaml` and registered in a {@link PrometheusMeterRegistry}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstrumentationOverheadBenchmark {
+
+    private static final int CLIENTS = 1000;
+
+    private ValidatorFactory validatorFactory;
+    private ClientService plainService;
+    private ClientService timedService;
+    private Timer timer;
+    private long[] ids;
+
+    @Setup
+    public void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        plainService = new ClientServiceImpl(
+                new ClientRepositoryAdapter(),
+                new ClientMapperAdapter(),
+                new ClientCache(new ClientCacheProperties(CLIENTS, Duration.ofHours(1)), new SimpleMeterRegistry()),
+                validatorFactory.getValidator()
+        );
+        plainService.createAll(IntStream.range(0, CLIENTS).mapToObj(ClientFixtures::request).toList());
+        ids = plainService.getAll().stream().mapToLong(Client::getId).toArray();
+
+        MeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .serviceLevelObjectives(millis(1), millis(5), millis(25), millis(100))
+                        .minimumExpectedValue((double) TimeUnit.MICROSECONDS.toNanos(100))
+                        .maximumExpectedValue(millis(5000))
+                        .build()
+                        .merge(config);
+            }
+        });
+        timer = Timer.builder("client.service").tag("method", "get").register(registry);
+
+        var proxyFactory = new AspectJProxyFactory(plainService);
+        proxyFactory.addAspect(new TimedAspect(registry));
+        timedService = proxyFactory.getProxy();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Client plain() {
+        return plainService.get(nextId());
+    }
+
+    @Benchmark
+    public Client timer() {
+        return timer.record(() -> plainService.get(nextId()));
+    }
+
+    @Benchmark
+    public Client timedAspect() {
+        return timedService.get(nextId());
+    }
+
+    private long nextId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private static double millis(long value) {
+        return TimeUnit.MILLISECONDS.toNanos(value);
+    }
+}
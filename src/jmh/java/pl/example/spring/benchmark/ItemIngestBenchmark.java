@@ -0,0 +1,110 @@
+package pl.example.spring.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.example.spring.Application;
+import pl.example.spring.Item.ItemBulkLoader;
+import pl.example.spring.Item.ItemFormat;
+import pl.example.spring.Item.ItemKind;
+import pl.example.spring.Item.ItemService;
+import pl.example.spring.api.ItemIngestResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures bulk ingestion of {@value #ROWS} generated items through {@link ItemService#ingest}, reported in rows per
+ * second.
+ *
+ * <p>On `postgres`, an embedded PostgreSQL configured like the `development` profile, the {@link ItemBulkLoader}
+ * streams the rows with `COPY`; on `h2`, the `benchmark` profile, it inserts them in JDBC batches. Every load runs
+ * in a transaction that is rolled back, so the table stays empty and the totals unchanged.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ItemIngestBenchmark.ROWS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemIngestBenchmark {
+
+    static final int ROWS = 1_000_000;
+
+    @Param({"postgres", "h2"})
+    public String database;
+
+    @Param({"COUNTABLE", "UNCOUNTABLE"})
+    public ItemKind kind;
+
+    @Param({"CSV", "NDJSON"})
+    public ItemFormat format;
+
+    private byte[] body;
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setup() throws IOException {
+        body = body();
+        var application = new SpringApplicationBuilder(Application.class).web(WebApplicationType.NONE);
+        if (database.equals("postgres")) {
+            postgres = EmbeddedPostgres.start();
+            context = application.run("--spring.profiles.active=development", "--logging.level.root=WARN",
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"));
+        } else {
+            context = application.run("--spring.profiles.active=benchmark");
+        }
+        itemService = context.getBean(ItemService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Benchmark
+    public ItemIngestResult ingest() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            try {
+                return itemService.ingest(kind, format, new ByteArrayInputStream(body));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private byte[] body() {
+        var random = ThreadLocalRandom.current();
+        var builder = new StringBuilder(ROWS * 24);
+        if (format == ItemFormat.CSV) {
+            builder.append("value\n");
+        }
+        for (int i = 0; i < ROWS; i++) {
+            String value = kind == ItemKind.COUNTABLE
+                    ? Long.toString(random.nextLong(-1_000_000, 1_000_000))
+                    : Double.toString(Math.round(random.nextDouble(-1_000, 1_000) * 100) / 100.0);
+            if (format == ItemFormat.CSV) {
+                builder.append(value).append('\n');
+            } else {
+                builder.append("{\"value\": ").append(value).append("}\n");
+            }
+        }
+        return builder.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
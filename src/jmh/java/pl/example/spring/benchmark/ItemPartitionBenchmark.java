@@ -0,0 +1,92 @@
+package pl.example.spring.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.example.spring.Item.CountableItemRepositoryCustomImpl;
+import pl.example.spring.Item.ItemPartitionManager;
+import pl.example.spring.Item.ItemPartitioningProperties;
+import pl.example.spring.api.ItemStatistics;
+import pl.example.spring.metrics.StatementRecorder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a plain `countable_item` table with one range-partitioned by the {@link ItemPartitionManager}, both
+ * holding {@value #ROWS} generated rows in an embedded PostgreSQL.
+ *
+ * <p>Statistics over the most recent ids should only scan the last partition of the partitioned table, while the
+ * plain table walks its primary key index; a full scan and a point lookup show the cost of partitioning for queries
+ * that cannot be pruned. Generating the rows takes about a minute per layout.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemPartitionBenchmark {
+
+    private static final long ROWS = 10_000_000;
+    private static final long PARTITION_SIZE = 1_000_000;
+    private static final long RECENT = 100_000;
+
+    @Param({"plain", "partitioned"})
+    public String layout;
+
+    private EmbeddedPostgres postgres;
+    private JdbcTemplate jdbcTemplate;
+    private CountableItemRepositoryCustomImpl repository;
+
+    @Setup
+    public void setup() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        var dataSource = postgres.getPostgresDatabase();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new CountableItemRepositoryCustomImpl(jdbcTemplate, new StatementRecorder(0));
+
+        ItemPartitionManager manager = null;
+        if (layout.equals("partitioned")) {
+            manager = new ItemPartitionManager(dataSource,
+                    new ItemPartitioningProperties(true, PARTITION_SIZE, 1, Duration.ofMinutes(10)));
+            manager.initialize();
+        } else {
+            jdbcTemplate.execute("create table countable_item (id bigint generated by default as identity primary key, "
+                    + "\"value\" bigint not null)");
+        }
+        // Inserted one partition at a time, rolling the partitions ahead like the scheduled check would
+        for (long inserted = 0; inserted < ROWS; inserted += PARTITION_SIZE) {
+            jdbcTemplate.update("insert into countable_item (\"value\") "
+                    + "select (random() * 1000000)::bigint from generate_series(1, ?)", PARTITION_SIZE);
+            if (manager != null) {
+                manager.roll();
+            }
+        }
+        jdbcTemplate.execute("vacuum analyze countable_item");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Benchmark
+    public ItemStatistics recentStatistics() {
+        return repository.statistics(ROWS - RECENT + 1, ROWS + 1);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ItemStatistics fullStatistics() {
+        return repository.statistics();
+    }
+
+    @Benchmark
+    public Long pointLookup() {
+        long id = ThreadLocalRandom.current().nextLong(1, ROWS + 1);
+        return jdbcTemplate.queryForObject("select \"value\" from countable_item where id = ?", Long.class, id);
+    }
+}
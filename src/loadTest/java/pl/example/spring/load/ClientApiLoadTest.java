@@ -0,0 +1,215 @@
+package pl.example.spring.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+import pl.example.spring.Application;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.String.format;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives a mix of client API requests against the application running on an embedded H2 database and checks the
+ * observed latencies and throughput against the configured SLOs.
+ *
+ * <p>Requests are started at a fixed rate, each on its own virtual thread, whether or not earlier ones have finished
+ * (an open workload). Latency is measured from the moment a request was scheduled to start rather than from when it
+ * was actually sent, so a stalled server shows up in the percentiles instead of silently lowering the request rate.
+ * </p>
+ *
+ * <p>Run with `./gradlew loadTest`. Settings are described in {@link LoadTestSettings}; to compare request handling
+ * on platform and virtual threads, run it once more with `-Pload-test.virtual-threads=true`. Percentile
+ * distributions are written to `build/reports/load-test` in HdrHistogram's `.hgrm` format.</p>
+ */
+@SpringBootTest(
+        classes = Application.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=${load-test.virtual-threads:false}"
+)
+@ActiveProfiles("loadtest")
+class ClientApiLoadTest {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<ClientOperation, Histogram> latencies = new EnumMap<>(ClientOperation.class);
+    private final Map<ClientOperation, LongAdder> errors = new EnumMap<>(ClientOperation.class);
+    private final Histogram totalLatency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder totalErrors = new LongAdder();
+
+    @Test
+    void clientApiMeetsSlo() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.from(environment);
+        for (ClientOperation operation : ClientOperation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newHttpClient()) {
+            ClientWorkload workload = ClientWorkload.seed(
+                    httpClient, URI.create("http://localhost:" + port), settings, objectMapper);
+            run(settings, workload, httpClient, executor);
+        }
+
+        report(settings);
+        verify(settings);
+    }
+
+    private void run(LoadTestSettings settings, ClientWorkload workload, HttpClient httpClient,
+                     ExecutorService executor) throws InterruptedException {
+        ClientOperation[] operations = weighted(settings.mix());
+        long interval = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+
+        for (long scheduled = start; scheduled < end; scheduled += interval) {
+            long delay = scheduled - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            ClientOperation operation = operations[ThreadLocalRandom.current().nextInt(operations.length)];
+            long scheduledAt = scheduled;
+            executor.execute(() -> send(workload, httpClient, operation, scheduledAt, scheduledAt >= measureFrom));
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Requests still running a minute after the run ended");
+        }
+    }
+
+    private void send(ClientWorkload workload, HttpClient httpClient, ClientOperation operation, long scheduledAt,
+                      boolean measured) {
+        boolean succeeded;
+        try {
+            HttpResponse<Void> response = httpClient.send(
+                    workload.request(operation), HttpResponse.BodyHandlers.discarding());
+            succeeded = response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            succeeded = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            succeeded = false;
+        }
+        if (!measured) {
+            return;
+        }
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt),
+                HIGHEST_TRACKABLE_MICROS);
+        latencies.get(operation).recordValue(micros);
+        totalLatency.recordValue(micros);
+        if (!succeeded) {
+            errors.get(operation).increment();
+            totalErrors.increment();
+        }
+    }
+
+    private void report(LoadTestSettings settings) throws IOException {
+        System.out.printf("Load test: %d requests/s for %ds after %ds of warmup, virtual threads %s%n",
+                settings.rate(), settings.duration().toSeconds(), settings.warmup().toSeconds(),
+                environment.getProperty("spring.threads.virtual.enabled"));
+        System.out.printf("%-12s %8s %8s %10s %10s %10s %10s%n",
+                "operation", "count", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (ClientOperation operation : ClientOperation.values()) {
+            print(operation.name(), latencies.get(operation), errors.get(operation).sum());
+        }
+        print("TOTAL", totalLatency, totalErrors.sum());
+        System.out.printf("Throughput: %.1f requests/s%n", throughput(settings));
+
+        Path reportDir = Path.of(environment.getProperty("load-test.report-dir", "build/reports/load-test"));
+        Files.createDirectories(reportDir);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(reportDir.resolve("total.hgrm")))) {
+            totalLatency.outputPercentileDistribution(out, 1000.0);
+        }
+        for (ClientOperation operation : ClientOperation.values()) {
+            Path file = reportDir.resolve(operation.name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                latencies.get(operation).outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private void print(String name, Histogram histogram, long errorCount) {
+        System.out.printf("%-12s %8d %8d %10.2f %10.2f %10.2f %10.2f%n", name, histogram.getTotalCount(), errorCount,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+    }
+
+    private void verify(LoadTestSettings settings) {
+        LoadTestSettings.Slo slo = settings.slo();
+        long count = totalLatency.getTotalCount();
+        double errorRate = count == 0 ? 1.0 : (double) totalErrors.sum() / count;
+        assertAll(
+                () -> assertPercentile(50, slo.p50().toNanos()),
+                () -> assertPercentile(99, slo.p99().toNanos()),
+                () -> assertPercentile(99.9, slo.p999().toNanos()),
+                () -> assertTrue(errorRate <= slo.maxErrorRate(),
+                        format("Error rate %.4f exceeds %.4f", errorRate, slo.maxErrorRate())),
+                () -> assertTrue(throughput(settings) >= settings.rate() * slo.minThroughputRatio(),
+                        format("Throughput %.1f requests/s is below %.1f",
+                                throughput(settings), settings.rate() * slo.minThroughputRatio()))
+        );
+    }
+
+    private void assertPercentile(double percentile, long limitNanos) {
+        long actualMicros = totalLatency.getValueAtPercentile(percentile);
+        long limitMicros = TimeUnit.NANOSECONDS.toMicros(limitNanos);
+        assertTrue(actualMicros <= limitMicros, format("p%s latency %.2f ms exceeds %.2f ms",
+                percentile, millis(actualMicros), millis(limitMicros)));
+    }
+
+    private double throughput(LoadTestSettings settings) {
+        return (double) totalLatency.getTotalCount() / settings.duration().toMillis() * 1000;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static ClientOperation[] weighted(Map<ClientOperation, Integer> mix) {
+        List<ClientOperation> operations = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("load-test.mix must give at least one operation a positive weight");
+        }
+        return operations.toArray(ClientOperation[]::new);
+    }
+}
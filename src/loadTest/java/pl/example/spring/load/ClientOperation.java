@@ -0,0 +1,13 @@
+package pl.example.spring.load;
+
+/**
+ * The client API operations exercised by the load test.
+ */
+enum ClientOperation {
+    PAGE,
+    GET,
+    CREATE,
+    UPDATE,
+    PATCH_NAME,
+    DELETE
+}
@@ -0,0 +1,170 @@
+package pl.example.spring.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import pl.example.spring.api.ClientAddRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static java.lang.String.format;
+
+/**
+ * Builds the HTTP requests of the load test.
+ *
+ * <p>Seeded clients are split in two: most of them are only read and updated, while the rest are handed out one by
+ * one to delete requests, so reads never race with deletes and every request is expected to succeed. Names are
+ * generated from a counter because they must be unique.</p>
+ */
+class ClientWorkload {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final String authorization;
+    private final ObjectMapper objectMapper;
+    private final long[] stableIds;
+    private final long[] deletableIds;
+    private final AtomicInteger nextDeletable = new AtomicInteger();
+    private final AtomicLong nameSequence = new AtomicLong();
+
+    private ClientWorkload(URI baseUri, String authorization, ObjectMapper objectMapper, List<Long> ids) {
+        this.baseUri = baseUri;
+        this.authorization = authorization;
+        this.objectMapper = objectMapper;
+        int deletable = ids.size() / 5;
+        this.stableIds = ids.subList(deletable, ids.size()).stream().mapToLong(Long::longValue).toArray();
+        this.deletableIds = ids.subList(0, deletable).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Creates the seed clients through the batch endpoint and returns a workload operating on them.
+     */
+    static ClientWorkload seed(HttpClient httpClient, URI baseUri, LoadTestSettings settings,
+                               ObjectMapper objectMapper) throws IOException, InterruptedException {
+        String authorization = switch (settings.authentication()) {
+            case BASIC -> "Basic " + Base64.getEncoder().encodeToString(
+                    (settings.username() + ":" + settings.password()).getBytes(StandardCharsets.UTF_8));
+            case TOKEN -> "Bearer " + token(httpClient, baseUri, settings, objectMapper);
+        };
+        ClientWorkload workload = new ClientWorkload(baseUri, authorization, objectMapper, List.of());
+
+        List<Long> ids = new ArrayList<>(settings.seedClients());
+        for (int from = 0; from < settings.seedClients(); from += SEED_BATCH_SIZE) {
+            int to = Math.min(from + SEED_BATCH_SIZE, settings.seedClients());
+            List<ClientAddRequest> batch = IntStream.range(from, to)
+                    .mapToObj(i -> workload.client("load-seed-" + i))
+                    .toList();
+            HttpResponse<String> response = httpClient.send(
+                    workload.json("POST", "/api/client/batch", batch),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(format("Seeding clients failed with status %d: %s",
+                        response.statusCode(), response.body()));
+            }
+            for (JsonNode result : objectMapper.readTree(response.body())) {
+                if (!result.path("id").isNumber()) {
+                    throw new IllegalStateException("Seeding clients failed: " + result);
+                }
+                ids.add(result.get("id").asLong());
+            }
+        }
+        return new ClientWorkload(baseUri, authorization, objectMapper, ids);
+    }
+
+    private static String token(HttpClient httpClient, URI baseUri, LoadTestSettings settings,
+                                ObjectMapper objectMapper) throws IOException, InterruptedException {
+        var body = objectMapper.writeValueAsString(
+                Map.of("username", settings.username(), "password", settings.password()));
+        HttpResponse<String> response = httpClient.send(
+                HttpRequest.newBuilder(baseUri.resolve("/api/auth/token"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(format("Obtaining a token failed with status %d: %s",
+                    response.statusCode(), response.body()));
+        }
+        return objectMapper.readTree(response.body()).get("accessToken").asText();
+    }
+
+    /**
+     * Builds the next request of the given operation.
+     * Delete requests turn into reads once every deletable client has been used.
+     */
+    HttpRequest request(ClientOperation operation) {
+        return switch (operation) {
+            case PAGE -> get(format("/api/client/page?page=%d&size=%d",
+                    ThreadLocalRandom.current().nextInt(Math.max(1, stableIds.length / PAGE_SIZE)), PAGE_SIZE));
+            case GET -> get("/api/client/" + stableId());
+            case CREATE -> json("POST", "/api/client", client("load-created-" + nameSequence.incrementAndGet()));
+            case UPDATE -> json("PUT", "/api/client/" + stableId(),
+                    client("load-updated-" + nameSequence.incrementAndGet()));
+            case PATCH_NAME -> builder("/api/client/updateName/" + stableId())
+                    .header("Content-Type", "text/plain")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                            "load-renamed-" + nameSequence.incrementAndGet()))
+                    .build();
+            case DELETE -> {
+                int next = nextDeletable.getAndIncrement();
+                yield next < deletableIds.length
+                        ? builder("/api/client/" + deletableIds[next]).DELETE().build()
+                        : get("/api/client/" + stableId());
+            }
+        };
+    }
+
+    private long stableId() {
+        return stableIds[ThreadLocalRandom.current().nextInt(stableIds.length)];
+    }
+
+    private ClientAddRequest client(String name) {
+        return ClientAddRequest.builder()
+                .name(name)
+                .mail("load@example.com")
+                .street("Marszałkowska")
+                .buildingNumber(1)
+                .city("Warszawa")
+                .postalCode("00-001")
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest json(String method, String path, Object body) {
+        try {
+            return builder(path)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", authorization);
+    }
+}
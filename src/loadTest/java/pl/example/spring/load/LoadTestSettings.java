@@ -0,0 +1,54 @@
+package pl.example.spring.load;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings of the load test, bound from the `load-test` prefix.
+ * Defaults live in `application-loadtest.yaml`; Gradle forwards `-Pload-test.*` project properties as system
+ * properties, which take precedence.
+ *
+ * @param rate           The number of requests started per second.
+ * @param warmup         How long requests are sent before latencies start being recorded.
+ * @param duration       How long latencies are recorded after the warmup.
+ * @param seedClients    The number of clients created before the run.
+ * @param authentication How requests authenticate: with HTTP Basic on every request, or with a bearer token
+ *                       obtained once from the login endpoint.
+ * @param username       The user the requests authenticate as.
+ * @param password       The password of that user.
+ * @param mix            The relative weight of each operation.
+ * @param slo            The thresholds the run is checked against.
+ */
+record LoadTestSettings(
+        int rate,
+        Duration warmup,
+        Duration duration,
+        int seedClients,
+        Authentication authentication,
+        String username,
+        String password,
+        Map<ClientOperation, Integer> mix,
+        Slo slo) {
+
+    static LoadTestSettings from(Environment environment) {
+        return Binder.get(environment).bindOrCreate("load-test", LoadTestSettings.class);
+    }
+
+    enum Authentication {
+        BASIC,
+        TOKEN
+    }
+
+    /**
+     * @param p50                The highest acceptable median latency.
+     * @param p99                The highest acceptable 99th percentile latency.
+     * @param p999               The highest acceptable 99.9th percentile latency.
+     * @param maxErrorRate       The highest acceptable fraction of failed requests.
+     * @param minThroughputRatio The lowest acceptable ratio of completed requests per second to the requested rate.
+     */
+    record Slo(Duration p50, Duration p99, Duration p999, double maxErrorRate, double minThroughputRatio) {
+    }
+}
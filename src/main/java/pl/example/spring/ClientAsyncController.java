@@ -0,0 +1,154 @@
+package pl.example.spring;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolationException;
+import lombok.AllArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import pl.example.spring.api.ClientAddRequest;
+import pl.example.spring.api.ClientOperationStatus;
+import pl.example.spring.client.ClientWriteQueue;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * REST controller accepting client writes for asynchronous processing by the {@link ClientWriteQueue}.
+ * Only available when `client.write-queue.enabled` is true.
+ *
+ * <p>Writes are validated and acknowledged with 202 and the {@link ClientOperationStatus} of the queued operation,
+ * whose `Location` header points at the status endpoint. When the queue is full, writes are rejected with 429 and
+ * should be retried later.</p>
+ */
+@AllArgsConstructor
+@RestController
+@RequestMapping("/api/client/async")
+@ConditionalOnProperty(name = "client.write-queue.enabled", havingValue = "true")
+@Tag(name = "Client async API", description = "API for queueing client writes")
+public class ClientAsyncController {
+    private final ClientWriteQueue clientWriteQueue;
+
+    /**
+     * Queues the creation of a client.
+     *
+     * @param client The {@link ClientAddRequest} object containing the data of the client to create.
+     * @return The {@link ClientOperationStatus} of the queued operation.
+     */
+    @Operation(summary = "Queue a new client", description = "Validates the client and queues its creation.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Client creation queued"),
+            @ApiResponse(responseCode = "400", description = "Invalid client data provided"),
+            @ApiResponse(responseCode = "429", description = "Too many pending writes"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<ClientOperationStatus> addClient(
+            @Parameter(description = "Client data to create", required = true)
+            @RequestBody ClientAddRequest client
+    ) {
+        return accepted(() -> clientWriteQueue.create(client));
+    }
+
+    /**
+     * Queues an update of an existing client.
+     *
+     * @param id The unique identifier of the client to update.
+     * @param client The {@link ClientAddRequest} object containing the updated client data.
+     * @return The {@link ClientOperationStatus} of the queued operation.
+     */
+    @Operation(
+            summary = "Queue a client update",
+            description = "Validates the client data and queues the update, merging it with queued updates of the "
+                    + "same client."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Client update queued"),
+            @ApiResponse(responseCode = "400", description = "Invalid client data provided"),
+            @ApiResponse(responseCode = "429", description = "Too many pending writes"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PutMapping(value = "/{id}", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<ClientOperationStatus> updateClient(
+            @Parameter(description = "The unique identifier of the client", required = true)
+            @PathVariable long id,
+            @Parameter(description = "Updated client data", required = true)
+            @NotNull @RequestBody ClientAddRequest client
+    ) {
+        return accepted(() -> clientWriteQueue.edit(client, id));
+    }
+
+    /**
+     * Queues an update of the name of an existing client.
+     *
+     * @param id The unique identifier of the client to update.
+     * @param name The new name to assign to the client.
+     * @return The {@link ClientOperationStatus} of the queued operation.
+     */
+    @Operation(
+            summary = "Queue a client name update",
+            description = "Queues the update of the name, merging it with queued updates of the same client."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Client name update queued"),
+            @ApiResponse(responseCode = "400", description = "Invalid name provided"),
+            @ApiResponse(responseCode = "429", description = "Too many pending writes"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PatchMapping(value = "/updateName/{id}", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<ClientOperationStatus> updateClientName(
+            @Parameter(description = "The unique identifier of the client", required = true)
+            @PathVariable long id,
+            @Parameter(description = "The new name for the client", required = true)
+            @RequestBody String name
+    ) {
+        return accepted(() -> clientWriteQueue.updateName(name, id));
+    }
+
+    /**
+     * Retrieves the status of a queued operation.
+     *
+     * @param operationId The identifier of the operation.
+     * @return The {@link ClientOperationStatus} of the operation.
+     */
+    @Operation(summary = "Get operation status", description = "Retrieves the status of a queued client write.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved operation status"),
+            @ApiResponse(responseCode = "404", description = "Operation not found or expired"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/operations/{operationId}", produces = APPLICATION_JSON_VALUE)
+    public ClientOperationStatus getStatus(
+            @Parameter(description = "The identifier of the operation", required = true)
+            @PathVariable String operationId
+    ) {
+        return clientWriteQueue.status(operationId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Operation not found"));
+    }
+
+    private ResponseEntity<ClientOperationStatus> accepted(Supplier<ClientOperationStatus> enqueue) {
+        ClientOperationStatus status;
+        try {
+            status = enqueue.get();
+        } catch (IllegalArgumentException | ConstraintViolationException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, e.getMessage(), e);
+        }
+        var location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/client/async/operations/{operationId}")
+                .buildAndExpand(status.operationId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(status);
+    }
+}
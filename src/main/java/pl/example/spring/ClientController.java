@@ -1,5 +1,9 @@
 package pl.example.spring;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -8,27 +12,48 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import pl.example.spring.client.Client;
+import pl.example.spring.client.ClientCursor;
 import pl.example.spring.client.ClientService;
+import pl.example.spring.client.ClientSortKey;
 import pl.example.spring.api.ClientAddRequest;
+import pl.example.spring.api.ClientBatchItemResult;
 import pl.example.spring.api.ClientResponse;
+import pl.example.spring.api.ClientSlice;
+import pl.example.spring.api.ClientsByIdsResponse;
 import pl.example.spring.metrics.MetricService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 
 /**
  * REST controller for managing client-related operations.
  * This controller provides endpoints for retrieving, creating, updating, and deleting client data.
  * It uses the {@link ClientService} to perform business logic and the {@link MetricService} to track metrics.
  *
- * <p>All endpoints are transactional, ensuring data consistency during updates and deletions.</p>
+ * <p>All endpoints are transactional, ensuring data consistency during updates and deletions. Batch creation is the
+ * exception: it commits every chunk of clients in its own transaction and reports the outcome per client.</p>
+ *
+ * <p>Single clients carry their version as a strong `ETag`. Reads honour `If-None-Match`, and updates honour
+ * `If-Match`, answering 412 when the client has been modified in the meantime.</p>
  */
 @AllArgsConstructor
 @RestController
@@ -37,6 +62,7 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 public class ClientController {
     private final ClientService clientService;
     private final MetricService metricService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Retrieves a list of all clients.
@@ -54,6 +80,43 @@ public class ClientController {
         return clientService.getAll();
     }
 
+    /**
+     * Streams all clients as newline-delimited JSON (one client per line).
+     * Clients are written to the response as they are read from the database, so memory usage stays flat
+     * regardless of the number of clients.
+     *
+     * @return A {@link StreamingResponseBody} writing every {@link Client} entity as a separate JSON line.
+     */
+    @Operation(
+            summary = "Stream all clients",
+            description = "Streams all clients in the system as newline-delimited JSON, one client per line."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully started streaming clients"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamClients() {
+        ObjectWriter writer = objectMapper.writerFor(Client.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator((String) null);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = writer.createGenerator(outputStream)) {
+                clientService.forEach(client -> {
+                    try {
+                        writer.writeValue(generator, client);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Retrieves a paginated list of abbreviated client data.
      *
@@ -79,11 +142,57 @@ public class ClientController {
         return clientService.getAllAbbreviatedData(pageable);
     }
 
+    /**
+     * Retrieves a slice of abbreviated client data using keyset (seek) pagination.
+     * Unlike {@link #getClients(Pageable)}, the cost of a slice does not grow with its depth, and the total count is
+     * only computed on request.
+     *
+     * @param after Opaque cursor returned as `next` by the previous slice, or null for the first slice.
+     * @param size The maximum number of clients in the slice.
+     * @param sort The key by which clients are ordered; ignored when a cursor is given.
+     * @param direction The direction in which clients are ordered; ignored when a cursor is given.
+     * @param withTotal Whether to include the total number of clients.
+     * @return A {@link ClientSlice} of {@link ClientResponse} objects containing abbreviated client data.
+     */
+    @Operation(
+            summary = "Get a slice of client data",
+            description = "Retrieves a slice of clients with abbreviated data using cursor-based pagination."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved a slice of client data"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or slice size"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/slice", produces = APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public ClientSlice getClientSlice(
+            @Parameter(description = "Cursor of the slice to fetch, as returned in `next`; omit for the first slice")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of clients in the slice")
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort key (ID or NAME)")
+            @RequestParam(defaultValue = "ID") ClientSortKey sort,
+            @Parameter(description = "Sort direction (ASC or DESC)")
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @Parameter(description = "Whether to include the total number of clients")
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        try {
+            var cursor = after == null ? ClientCursor.first(sort, direction) : ClientCursor.decode(after);
+            return clientService.getAbbreviatedDataSlice(cursor, size, withTotal);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
     /**
      * Retrieves full details of a single client by their unique identifier.
+     * The response carries the version of the client as its `ETag`. If `If-None-Match` lists the current tag, only
+     * the version is read and 304 is returned without loading or serializing the client.
      *
      * @param id The unique identifier of the client.
-     * @return The {@link Client} entity corresponding to the provided ID.
+     * @param ifNoneMatch The entity tags of the client already held by the caller, if any.
+     * @return The {@link Client} entity corresponding to the provided ID, or an empty 304 response.
      */
     @Operation(
             summary = "Get client by ID",
@@ -91,16 +200,78 @@ public class ClientController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved client details"),
+            @ApiResponse(responseCode = "304", description = "Client has not been modified"),
             @ApiResponse(responseCode = "404", description = "Client not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping(value = "/{id}", produces = APPLICATION_JSON_VALUE)
-    @ResponseStatus(HttpStatus.OK)
-    public Client getClient(
+    public ResponseEntity<Client> getClient(
             @Parameter(description = "The unique identifier of the client", required = true)
-            @PathVariable long id
+            @PathVariable long id,
+            @Parameter(description = "Entity tags of the client held by the caller")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (ifNoneMatch != null) {
+            var version = clientService.getVersion(id);
+            if (ifNoneMatch.trim().equals("*") || versions(ifNoneMatch, true).contains(version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag(version)).build();
+            }
+        }
+        var client = clientService.get(id);
+        return ResponseEntity.ok().eTag(eTag(client.getVersion())).body(client);
+    }
+
+    /**
+     * Retrieves full details of a single client by their unique name.
+     * The response carries the version of the client as its `ETag`.
+     *
+     * @param name The unique name of the client.
+     * @return The {@link Client} entity with the provided name.
+     */
+    @Operation(
+            summary = "Get client by name",
+            description = "Retrieves full details of a single client by their unique name."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved client details"),
+            @ApiResponse(responseCode = "404", description = "Client not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/by-name/{name}", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<Client> getClientByName(
+            @Parameter(description = "The unique name of the client", required = true)
+            @PathVariable String name
     ) {
-        return clientService.get(id);
+        var client = clientService.getByName(name);
+        return ResponseEntity.ok().eTag(eTag(client.getVersion())).body(client);
+    }
+
+    /**
+     * Retrieves full details of many clients by their unique identifiers at once.
+     *
+     * @param ids The unique identifiers of the clients.
+     * @return A {@link ClientsByIdsResponse} with the clients found, in request order, and the identifiers not found.
+     */
+    @Operation(
+            summary = "Get clients by IDs",
+            description = "Retrieves full details of many clients at once, keeping the order of the requested IDs."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved clients; missing IDs are listed"),
+            @ApiResponse(responseCode = "400", description = "Too many IDs requested"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/by-ids", produces = APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public ClientsByIdsResponse getClientsByIds(
+            @Parameter(description = "The unique identifiers of the clients", required = true)
+            @RequestBody List<Long> ids
+    ) {
+        try {
+            return clientService.getAll(ids);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
     }
 
     /**
@@ -145,10 +316,41 @@ public class ClientController {
         clientService.create(client);
     }
 
+    /**
+     * Creates many clients at once using the provided details.
+     * Each client is validated and stored independently, and the outcome is reported per client.
+     *
+     * @param clients The {@link ClientAddRequest} objects containing the data of the clients to create.
+     * @return A {@link List} of {@link ClientBatchItemResult} objects, one per requested client and in the same order.
+     */
+    @Operation(
+            summary = "Create many clients",
+            description = "Creates many clients at once and reports success or failure for each of them."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see the result of each client"),
+            @ApiResponse(responseCode = "400", description = "Batch is too large"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/batch", produces = APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public List<ClientBatchItemResult> addClients(
+            @Parameter(description = "Data of the clients to create", required = true)
+            @RequestBody List<ClientAddRequest> clients
+    ) {
+        try {
+            return clientService.createAll(clients);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
     /**
      * Updates an existing client with the provided details.
+     * With `If-Match`, the client is only updated if its current `ETag` is listed.
      *
      * @param id The unique identifier of the client to update.
+     * @param ifMatch The entity tags the client is expected to have, if any.
      * @param client The {@link ClientAddRequest} object containing the updated client data.
      */
     @Operation(summary = "Update client by ID", description = "Updates an existing client with the provided details.")
@@ -156,6 +358,7 @@ public class ClientController {
             @ApiResponse(responseCode = "201", description = "Client successfully updated"),
             @ApiResponse(responseCode = "400", description = "Invalid client data provided"),
             @ApiResponse(responseCode = "404", description = "Client not found"),
+            @ApiResponse(responseCode = "412", description = "Client has been modified"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PutMapping("/{id}")
@@ -164,16 +367,24 @@ public class ClientController {
     public void updateClient(
             @Parameter(description = "The unique identifier of the client", required = true)
             @PathVariable long id,
+            @Parameter(description = "Entity tags the client is expected to have")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Updated client data", required = true)
             @NotNull @RequestBody ClientAddRequest client
     ) {
-        clientService.edit(client, id);
+        try {
+            clientService.edit(client, id, expectedVersion(ifMatch, id));
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage(), e);
+        }
     }
 
     /**
      * Updates the name of an existing client.
+     * With `If-Match`, the name is only updated if the current `ETag` of the client is listed.
      *
      * @param id The unique identifier of the client to update.
+     * @param ifMatch The entity tags the client is expected to have, if any.
      * @param name The new name to assign to the client.
      */
     @Operation(summary = "Update client name by ID", description = "Updates the name of an existing client.")
@@ -181,6 +392,7 @@ public class ClientController {
             @ApiResponse(responseCode = "200", description = "Client name successfully updated"),
             @ApiResponse(responseCode = "400", description = "Invalid name provided"),
             @ApiResponse(responseCode = "404", description = "Client not found"),
+            @ApiResponse(responseCode = "412", description = "Client has been modified"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PatchMapping("/updateName/{id}")
@@ -189,9 +401,79 @@ public class ClientController {
     public void updateClientName(
             @Parameter(description = "The unique identifier of the client", required = true)
             @PathVariable long id,
+            @Parameter(description = "Entity tags the client is expected to have")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "The new name for the client", required = true)
             @NotBlank @RequestBody String name
     ) {
-        clientService.updateName(name, id);
+        try {
+            clientService.updateName(name, id, expectedVersion(ifMatch, id));
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Helper method to resolve the version an update is conditional on from an `If-Match` header.
+     * A single tag is passed on as is, so the version is only checked by the update itself; with several tags the
+     * current version is read first.
+     *
+     * @param ifMatch The value of the `If-Match` header, or null if absent.
+     * @param id The unique identifier of the client to update.
+     * @return The version the client is expected to have, or null if the update is unconditional.
+     * @throws ResponseStatusException with 412 if none of the listed tags is the current one.
+     */
+    private @Nullable Long expectedVersion(@Nullable String ifMatch, long id) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        var versions = versions(ifMatch, false);
+        if (versions.size() == 1) {
+            return versions.getFirst();
+        }
+        var version = clientService.getVersion(id);
+        if (!versions.contains(version)) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Client has been modified");
+        }
+        return version;
+    }
+
+    /**
+     * Helper method to format the version of a client as a strong entity tag.
+     *
+     * @param version The version of the client.
+     * @return The quoted entity tag.
+     */
+    private static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Helper method to extract client versions from the entity tags listed in a conditional request header.
+     * Tags that were not issued by {@link #eTag(long)} can never match and are skipped.
+     *
+     * @param header The comma-separated list of entity tags.
+     * @param weak Whether weak tags are compared too, as for `If-None-Match`; `If-Match` only compares strong tags.
+     * @return The versions listed in the header.
+     */
+    private static List<Long> versions(@NotNull String header, boolean weak) {
+        var versions = new ArrayList<Long>();
+        for (var tag : header.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                if (!weak) {
+                    continue;
+                }
+                tag = tag.substring(2);
+            }
+            if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(tag.substring(1, tag.length() - 1)));
+                } catch (NumberFormatException ignored) {
+                    // Not a version tag
+                }
+            }
+        }
+        return versions;
     }
 }
\ No newline at end of file
@@ -1,13 +1,24 @@
 package pl.example.spring.Item;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 
+/**
+ * An item counted in whole units.
+ */
 @Getter
 @Setter
 @Entity
 @Table(name = "countable_item")
 public class CountableItem extends Item {
-}
\ No newline at end of file
+
+    /**
+     * The number of units, stored in a `bigint` column.
+     * The column name is quoted because `value` is a keyword in H2.
+     */
+    @Column(name = "\"value\"", nullable = false)
+    private long value;
+}
@@ -0,0 +1,57 @@
+package pl.example.spring.Item;
+
+import org.jetbrains.annotations.NotNull;
+import pl.example.spring.api.ItemStatistics;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Fragment interface for {@link CountableItemRepositorySql} bulk reads that bypass entity loading.
+ * Spring Data detects {@link CountableItemRepositoryCustomImpl} by its `Impl` suffix and merges it into the
+ * repository proxy.
+ */
+public interface CountableItemRepositoryCustom {
+
+    /**
+     * Passes the value of every countable item to the given action.
+     *
+     * @param fetchSize Number of rows fetched from the database per round-trip.
+     * @param action The action to invoke for each value.
+     */
+    void forEachValue(int fetchSize, @NotNull LongConsumer action);
+
+    /**
+     * Retrieves the values of all countable items into a primitive array.
+     *
+     * @return The values, in no particular order.
+     */
+    long[] findAllValues();
+
+    /**
+     * Computes the count, sum, minimum, maximum and average of the values of all countable items.
+     *
+     * @return The {@link ItemStatistics} of the values.
+     */
+    @NotNull
+    ItemStatistics statistics();
+
+    /**
+     * Computes the count, sum, minimum, maximum and average of the values of countable items within an id range.
+     *
+     * @param fromId The lowest id included.
+     * @param toId The id after the highest id included.
+     * @return The {@link ItemStatistics} of the values.
+     */
+    @NotNull
+    ItemStatistics statistics(long fromId, long toId);
+
+    /**
+     * Counts the values of countable items falling into equal-width buckets between the given bounds.
+     *
+     * @param min The lower bound of the first bucket.
+     * @param max The upper bound of the last bucket; must be greater than `min`.
+     * @param buckets The number of buckets.
+     * @return The number of values in each bucket.
+     */
+    long[] histogram(double min, double max, int buckets);
+}
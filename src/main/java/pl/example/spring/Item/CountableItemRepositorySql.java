@@ -1,8 +1,47 @@
 package pl.example.spring.Item;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository of {@link CountableItem} entities.
+ * Bulk reads of values are implemented with JDBC in {@link CountableItemRepositoryCustomImpl}.
+ */
 @Repository
-public interface CountableItemRepositorySql extends CountableItemRepository, JpaRepository<CountableItem, Long> {
+public interface CountableItemRepositorySql
+        extends CountableItemRepository, CountableItemRepositoryCustom, JpaRepository<CountableItem, Long> {
+
+    /**
+     * Loads a countable item with `SELECT ... FOR UPDATE`.
+     * The transaction is read-write, because the row lock is not allowed in a read-only one.
+     *
+     * @param id The unique identifier of the item.
+     * @return An {@link Optional} containing the locked {@link CountableItem} if found, or empty otherwise.
+     */
+    @Override
+    @Transactional
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from CountableItem i where i.id = :id")
+    Optional<CountableItem> findForUpdateById(@Param("id") long id);
+
+    /**
+     * Deletes a countable item with a single bulk `DELETE` statement.
+     * Bulk statements bypass the {@link ItemWriteListener}, so callers report the write themselves.
+     *
+     * @param id The unique identifier of the item to delete.
+     * @return The number of deleted items; 0 if no item has the provided ID.
+     */
+    @Override
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from CountableItem i where i.id = :id")
+    int deleteItemById(@Param("id") long id);
 }
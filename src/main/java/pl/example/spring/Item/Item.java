@@ -4,15 +4,19 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+/**
+ * Base class of items, holding their identifier.
+ * The value is declared by each subclass with a primitive type, so it maps to a native numeric column and is not
+ * boxed on the heap.
+ * Writes of items are reported to the {@link ItemAggregationCache} by the {@link ItemWriteListener}.
+ */
 @Getter
 @Setter
 @MappedSuperclass
+@EntityListeners(ItemWriteListener.class)
 public class Item {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id", nullable = false)
     private Long id;
-
-    @Column
-    private Number value;
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package pl.example.spring.Item;
+
+import pl.example.spring.api.ItemStatistics;
+
+/**
+ * Aggregates over the values of all items of one kind, computed either by the database or from an in-memory
+ * {@link ItemColumn}.
+ */
+public interface ItemAggregates {
+
+    /**
+     * Computes the count, sum, minimum, maximum and average of the values.
+     *
+     * @return The {@link ItemStatistics} of the values.
+     */
+    ItemStatistics statistics();
+
+    /**
+     * Counts the values falling into equal-width buckets between the given bounds.
+     * Bucket `i` counts values from `min + i * width` up to, but excluding, the start of the next bucket; the last
+     * bucket also counts values equal to `max`. Values outside the bounds are not counted.
+     *
+     * @param min The lower bound of the first bucket.
+     * @param max The upper bound of the last bucket; must be greater than `min`.
+     * @param buckets The number of buckets.
+     * @return The number of values in each bucket.
+     */
+    long[] histogram(double min, double max, int buckets);
+}
@@ -0,0 +1,113 @@
+package pl.example.spring.Item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of item aggregation results and in-memory {@link ItemColumn} snapshots, per {@link ItemKind}.
+ * Results are published to the {@link MeterRegistry} under the cache name `item.aggregation`.
+ *
+ * <p>Every write to an item of a kind drops all results and the snapshot of that kind, once when the item is
+ * written and again after its transaction completes. A value computed concurrently with a write is not stored, so
+ * a computation that raced a commit cannot put stale data back into the cache.</p>
+ */
+@Component
+public class ItemAggregationCache {
+
+    private final Cache<Key, Object> results;
+    private final Map<ItemKind, ItemColumn> columns = new ConcurrentHashMap<>();
+    private final Map<ItemKind, AtomicLong> generations = new EnumMap<>(ItemKind.class);
+
+    public ItemAggregationCache(ItemAggregationProperties properties, MeterRegistry registry) {
+        results = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.timeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, results, "item.aggregation");
+        for (var kind : ItemKind.values()) {
+            generations.put(kind, new AtomicLong());
+        }
+    }
+
+    /**
+     * Retrieves a cached result, computing and caching it on a miss.
+     *
+     * @param kind The kind of items the result is computed over.
+     * @param query The parameters of the computation, used as part of the key.
+     * @param loader Function computing the result.
+     * @return The result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NotNull ItemKind kind, @NotNull Object query, @NotNull Supplier<T> loader) {
+        var key = new Key(kind, query);
+        var cached = results.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        long generation = generations.get(kind).get();
+        T loaded = loader.get();
+        results.asMap().compute(key, (k, current) -> generations.get(kind).get() == generation ? loaded : current);
+        return loaded;
+    }
+
+    /**
+     * Retrieves the snapshot of a kind of items, loading it if there is none.
+     *
+     * @param kind The kind of items.
+     * @param loader Function loading the snapshot from the database, returning null if it should not be held.
+     * @return The snapshot, or null if the loader returned null.
+     */
+    @Nullable ItemColumn column(@NotNull ItemKind kind, @NotNull Supplier<@Nullable ItemColumn> loader) {
+        var cached = columns.get(kind);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = generations.get(kind).get();
+        var loaded = loader.get();
+        if (loaded != null) {
+            columns.compute(kind, (k, current) -> generations.get(kind).get() == generation ? loaded : current);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the results and snapshot of a kind of items after one of them was written.
+     * If a transaction is active, they are dropped again once the transaction completes.
+     *
+     * @param kind The kind of the written item.
+     */
+    public void written(@NotNull ItemKind kind) {
+        invalidate(kind);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(kind);
+                }
+            });
+        }
+    }
+
+    private void invalidate(ItemKind kind) {
+        generations.get(kind).incrementAndGet();
+        results.asMap().keySet().removeIf(key -> key.kind() == kind);
+        columns.remove(kind);
+    }
+
+    private record Key(ItemKind kind, Object query) {
+    }
+}
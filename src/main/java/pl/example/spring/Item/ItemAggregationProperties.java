@@ -0,0 +1,23 @@
+package pl.example.spring.Item;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of item aggregation, bound from the `item.aggregation` prefix.
+ *
+ * @param maximumSize The maximum number of aggregation results kept in the {@link ItemAggregationCache}.
+ * @param timeToLive How long a result is kept; bounds staleness when items are written outside this application.
+ * @param columnar Whether aggregates are computed from in-memory {@link ItemColumn} snapshots instead of SQL.
+ * @param columnarMaxRows The largest number of items of one kind held in a snapshot; larger kinds use SQL.
+ */
+@ConfigurationProperties("item.aggregation")
+public record ItemAggregationProperties(
+        @DefaultValue("1000") long maximumSize,
+        @DefaultValue("1m") Duration timeToLive,
+        @DefaultValue("false") boolean columnar,
+        @DefaultValue("10000000") long columnarMaxRows
+) {
+}
@@ -0,0 +1,167 @@
+package pl.example.spring.Item;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.stereotype.Service;
+import pl.example.spring.api.ItemHistogramBucket;
+import pl.example.spring.api.ItemStatistics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Service computing aggregates over the values of countable and uncountable items.
+ * Aggregates are computed by the database with SQL aggregate functions, or, when `item.aggregation.columnar` is
+ * enabled, from an in-memory {@link ItemColumn} snapshot of the values, which is loaded once and reused for every
+ * aggregate until an item of its kind is written. Results are cached in the {@link ItemAggregationCache}.
+ */
+@AllArgsConstructor
+@Service
+@Timed(value = "item.aggregation", description = "Time spent computing item aggregates")
+public class ItemAggregationService {
+
+    /**
+     * Maximum number of buckets of a single histogram.
+     */
+    private static final int MAX_BUCKETS = 1000;
+
+    private final CountableItemRepository countableItemRepository;
+    private final UncountableItemRepository uncountableItemRepository;
+    private final ItemAggregationCache itemAggregationCache;
+    private final ItemAggregationProperties properties;
+
+    /**
+     * Computes the count, sum, minimum, maximum and average of the values of all items of one kind.
+     *
+     * @param kind The kind of items.
+     * @return The {@link ItemStatistics} of the values.
+     */
+    public @NotNull ItemStatistics statistics(@NotNull ItemKind kind) {
+        return itemAggregationCache.get(kind, Statistics.INSTANCE, () -> aggregates(kind).statistics());
+    }
+
+    /**
+     * Computes the count, sum, minimum, maximum and average of the values of items of one kind within an id range.
+     * Ids grow with insertion, so a range selects items by age; the range is always computed by the database, which
+     * only scans the partitions covering it when the item tables are partitioned.
+     *
+     * @param kind The kind of items.
+     * @param fromId The lowest id included, or null for no lower bound.
+     * @param toId The id after the highest id included, or null for no upper bound.
+     * @return The {@link ItemStatistics} of the values.
+     * @throws IllegalArgumentException if `fromId` exceeds `toId`.
+     */
+    public @NotNull ItemStatistics statistics(@NotNull ItemKind kind, @Nullable Long fromId, @Nullable Long toId) {
+        if (fromId == null && toId == null) {
+            return statistics(kind);
+        }
+        long from = fromId != null ? fromId : Long.MIN_VALUE;
+        long to = toId != null ? toId : Long.MAX_VALUE;
+        if (from > to) {
+            throw new IllegalArgumentException("Id range start cannot exceed its end");
+        }
+        return itemAggregationCache.get(kind, new IdRange(from, to), () -> switch (kind) {
+            case COUNTABLE -> countableItemRepository.statistics(from, to);
+            case UNCOUNTABLE -> uncountableItemRepository.statistics(from, to);
+        });
+    }
+
+    /**
+     * Counts the values of items of one kind falling into equal-width buckets.
+     * Bounds that are not given default to the lowest and highest value, so that every item is counted.
+     *
+     * @param kind The kind of items.
+     * @param buckets The number of buckets.
+     * @param min The lower bound of the first bucket, or null for the lowest value.
+     * @param max The upper bound of the last bucket, or null for the highest value.
+     * @return The buckets in ascending order, or an empty list if there are no items and no bounds were given.
+     * @throws IllegalArgumentException if the number of buckets is out of range or `min` exceeds `max`.
+     */
+    public @NotNull List<ItemHistogramBucket> histogram(
+            @NotNull ItemKind kind,
+            int buckets,
+            @Nullable Double min,
+            @Nullable Double max
+    ) {
+        if (buckets < 1 || buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException(format("Number of buckets must be between 1 and %d", MAX_BUCKETS));
+        }
+        if (min != null && max != null && min > max) {
+            throw new IllegalArgumentException("Histogram minimum cannot exceed its maximum");
+        }
+        return itemAggregationCache.get(kind, new Histogram(buckets, min, max), () -> {
+            Double from = min;
+            Double to = max;
+            if (from == null || to == null) {
+                var statistics = statistics(kind);
+                if (statistics.count() == 0) {
+                    return List.of();
+                }
+                from = from != null ? from : statistics.min().doubleValue();
+                to = to != null ? to : statistics.max().doubleValue();
+            }
+            return buckets(aggregates(kind), from, to, buckets);
+        });
+    }
+
+    /**
+     * Helper method to compute histogram buckets between the given bounds.
+     */
+    private static List<ItemHistogramBucket> buckets(ItemAggregates aggregates, double min, double max, int buckets) {
+        if (min == max) {
+            // Equal bounds leave no room for buckets; count the single value in one bucket instead
+            return List.of(new ItemHistogramBucket(min, max, aggregates.histogram(min, Math.nextUp(max), 1)[0]));
+        }
+        var counts = aggregates.histogram(min, max, buckets);
+        double width = (max - min) / buckets;
+        var result = new ArrayList<ItemHistogramBucket>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            double to = i == buckets - 1 ? max : min + (i + 1) * width;
+            result.add(new ItemHistogramBucket(min + i * width, to, counts[i]));
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * Helper method to choose where aggregates of a kind are computed.
+     *
+     * @param kind The kind of items.
+     * @return The in-memory snapshot if enabled and small enough, or the repository otherwise.
+     */
+    private ItemAggregates aggregates(ItemKind kind) {
+        if (!properties.columnar()) {
+            return repository(kind);
+        }
+        var column = itemAggregationCache.column(kind, () -> {
+            if (repository(kind).count() > properties.columnarMaxRows()) {
+                return null;
+            }
+            return switch (kind) {
+                case COUNTABLE -> new ItemColumn.Countable(countableItemRepository.findAllValues());
+                case UNCOUNTABLE -> new ItemColumn.Uncountable(uncountableItemRepository.findAllValues());
+            };
+        });
+        return column != null ? column : repository(kind);
+    }
+
+    private ItemAggregates repository(ItemKind kind) {
+        return switch (kind) {
+            case COUNTABLE -> countableItemRepository;
+            case UNCOUNTABLE -> uncountableItemRepository;
+        };
+    }
+
+    private enum Statistics {
+        INSTANCE
+    }
+
+    private record IdRange(long fromId, long toId) {
+    }
+
+    private record Histogram(int buckets, @Nullable Double min, @Nullable Double max) {
+    }
+}
@@ -0,0 +1,187 @@
+package pl.example.spring.Item;
+
+import lombok.AllArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Inserts items from a CSV or NDJSON body with plain JDBC, bypassing the persistence context.
+ *
+ * <p>On PostgreSQL the values are streamed into a single `COPY ... FROM STDIN` in chunks of
+ * {@value #COPY_CHUNK_SIZE} bytes; on other databases they are inserted with JDBC batches of {@value #BATCH_SIZE}
+ * rows. Every value is validated while reading, so a malformed row rejects the whole body.</p>
+ *
+ * <p>The loader uses the connection bound to the current transaction, so the rows become visible when that
+ * transaction commits. The {@link ItemWriteListener} is not notified and callers report the write themselves.</p>
+ */
+@Component
+@AllArgsConstructor
+public class ItemBulkLoader {
+    static final int COPY_CHUNK_SIZE = 1024 * 1024;
+    static final int BATCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+
+    /**
+     * Inserts one item per line of the input.
+     *
+     * @param kind The kind of the items.
+     * @param format The format of the input.
+     * @param input The input, read to its end.
+     * @return The number and sum of the inserted items.
+     * @throws IllegalArgumentException If a line is malformed or the sum of countable values overflows; no items are
+     *                                  inserted once the transaction rolls back.
+     * @throws IOException If the input cannot be read.
+     */
+    public Loaded load(ItemKind kind, ItemFormat format, InputStream input) throws IOException {
+        var connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                return copy(connection.unwrap(PGConnection.class), kind, format, input);
+            }
+            return batch(connection, kind, format, input);
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("Bulk load of " + kind.table(), null, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static Loaded copy(PGConnection connection, ItemKind kind, ItemFormat format, InputStream input)
+            throws SQLException, IOException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn("copy " + kind.table() + " (\"value\") from stdin");
+        try {
+            var sink = new CopySink(copyIn, kind);
+            long rows = ItemRowReader.read(input, format, sink);
+            sink.flush();
+            copyIn.endCopy();
+            return new Loaded(rows, sink.countableSum, sink.uncountableSum);
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static Loaded batch(Connection connection, ItemKind kind, ItemFormat format, InputStream input)
+            throws SQLException, IOException {
+        try (var statement = connection.prepareStatement(
+                "insert into " + kind.table() + " (\"value\") values (?)")) {
+            var sink = new BatchSink(statement, kind);
+            long rows = ItemRowReader.read(input, format, sink);
+            sink.flush();
+            return new Loaded(rows, sink.countableSum, sink.uncountableSum);
+        }
+    }
+
+    /**
+     * Adds a countable value to the running sum, rejecting the line whose value takes the sum out of the range of a
+     * `long`, since the {@link ItemTotals} could not hold it either.
+     */
+    private static long addExact(long sum, long value) {
+        try {
+            return Math.addExact(sum, value);
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Sum of the countable values is out of range");
+        }
+    }
+
+    /**
+     * Validates each value and appends its original text to the `COPY` stream, which accepts JSON numbers as-is.
+     */
+    private static final class CopySink implements ItemRowReader.Sink {
+        private final CopyIn copyIn;
+        private final ItemKind kind;
+        private final byte[] chunk = new byte[COPY_CHUNK_SIZE];
+        private int length;
+        private long countableSum;
+        private double uncountableSum;
+
+        CopySink(CopyIn copyIn, ItemKind kind) {
+            this.copyIn = copyIn;
+            this.kind = kind;
+        }
+
+        @Override
+        public void accept(byte[] buffer, int start, int end) throws SQLException {
+            if (kind == ItemKind.COUNTABLE) {
+                countableSum = addExact(countableSum, ItemNumbers.parseLong(buffer, start, end));
+            } else {
+                uncountableSum += ItemNumbers.parseDouble(buffer, start, end);
+            }
+            if (length + end - start + 1 > chunk.length) {
+                flush();
+            }
+            System.arraycopy(buffer, start, chunk, length, end - start);
+            length += end - start;
+            chunk[length++] = '\n';
+        }
+
+        void flush() throws SQLException {
+            if (length > 0) {
+                copyIn.writeToCopy(chunk, 0, length);
+                length = 0;
+            }
+        }
+    }
+
+    /**
+     * Binds each parsed value to the insert statement and executes it every {@value ItemBulkLoader#BATCH_SIZE} rows.
+     */
+    private static final class BatchSink implements ItemRowReader.Sink {
+        private final PreparedStatement statement;
+        private final ItemKind kind;
+        private int pending;
+        private long countableSum;
+        private double uncountableSum;
+
+        BatchSink(PreparedStatement statement, ItemKind kind) {
+            this.statement = statement;
+            this.kind = kind;
+        }
+
+        @Override
+        public void accept(byte[] buffer, int start, int end) throws SQLException {
+            if (kind == ItemKind.COUNTABLE) {
+                long value = ItemNumbers.parseLong(buffer, start, end);
+                statement.setLong(1, value);
+                countableSum = addExact(countableSum, value);
+            } else {
+                double value = ItemNumbers.parseDouble(buffer, start, end);
+                statement.setDouble(1, value);
+                uncountableSum += value;
+            }
+            statement.addBatch();
+            if (++pending == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+    }
+
+    /**
+     * The outcome of a load.
+     *
+     * @param rows The number of inserted items.
+     * @param countableSum The sum of the inserted values, if they are countable.
+     * @param uncountableSum The sum of the inserted values, if they are uncountable.
+     */
+    public record Loaded(long rows, long countableSum, double uncountableSum) {
+    }
+}
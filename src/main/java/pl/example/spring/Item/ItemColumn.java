@@ -0,0 +1,107 @@
+package pl.example.spring.Item;
+
+import pl.example.spring.api.ItemStatistics;
+
+import java.math.BigDecimal;
+import java.util.DoubleSummaryStatistics;
+
+/**
+ * In-memory, columnar snapshot of the values of all items of one kind, held in a single primitive array.
+ * Aggregates are computed with tight loops over the array, without touching the database.
+ */
+abstract sealed class ItemColumn implements ItemAggregates {
+
+    /**
+     * Helper method to find the bucket of a value, with the same rounding as {@link ItemQueries#histogram}.
+     */
+    static int bucket(double value, double min, double width, int buckets) {
+        return Math.min((int) Math.floor((value - min) / width), buckets - 1);
+    }
+
+    /**
+     * Snapshot of countable item values.
+     */
+    static final class Countable extends ItemColumn {
+        private final long[] values;
+
+        Countable(long[] values) {
+            this.values = values;
+        }
+
+        /**
+         * Sums the values in a `long`, moving the partial sum into a {@link BigDecimal} whenever the next value
+         * would overflow it, so the sum is exact like the one computed by the database.
+         */
+        @Override
+        public ItemStatistics statistics() {
+            if (values.length == 0) {
+                return new ItemStatistics(0, 0L, null, null, null);
+            }
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            long sum = 0;
+            var carried = BigDecimal.ZERO;
+            for (long value : values) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                try {
+                    sum = Math.addExact(sum, value);
+                } catch (ArithmeticException e) {
+                    carried = carried.add(BigDecimal.valueOf(sum));
+                    sum = value;
+                }
+            }
+            var total = carried.add(BigDecimal.valueOf(sum));
+            return new ItemStatistics(values.length, ItemQueries.countableSum(total), min, max,
+                    total.doubleValue() / values.length);
+        }
+
+        @Override
+        public long[] histogram(double min, double max, int buckets) {
+            var counts = new long[buckets];
+            double width = (max - min) / buckets;
+            for (long value : values) {
+                if (value >= min && value <= max) {
+                    counts[bucket(value, min, width, buckets)]++;
+                }
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Snapshot of uncountable item values.
+     */
+    static final class Uncountable extends ItemColumn {
+        private final double[] values;
+
+        Uncountable(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public ItemStatistics statistics() {
+            var statistics = new DoubleSummaryStatistics();
+            for (double value : values) {
+                statistics.accept(value);
+            }
+            if (statistics.getCount() == 0) {
+                return new ItemStatistics(0, 0.0, null, null, null);
+            }
+            return new ItemStatistics(statistics.getCount(), statistics.getSum(), statistics.getMin(),
+                    statistics.getMax(), statistics.getAverage());
+        }
+
+        @Override
+        public long[] histogram(double min, double max, int buckets) {
+            var counts = new long[buckets];
+            double width = (max - min) / buckets;
+            for (double value : values) {
+                if (value >= min && value <= max) {
+                    counts[bucket(value, min, width, buckets)]++;
+                }
+            }
+            return counts;
+        }
+    }
+}
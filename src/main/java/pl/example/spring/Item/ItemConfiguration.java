@@ -0,0 +1,16 @@
+package pl.example.spring.Item;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Configuration class for setting up item-related components in the application.
+ * Enables the JPA repositories of countable and uncountable items and binds the
+ * {@link ItemAggregationProperties}.
+ */
+@Configuration
+@EnableJpaRepositories(basePackageClasses = { CountableItemRepositorySql.class })
+@EnableConfigurationProperties(ItemAggregationProperties.class)
+public class ItemConfiguration {
+}
@@ -0,0 +1,17 @@
+package pl.example.spring.Item;
+
+/**
+ * Formats of bulk item ingestion, with one item per line.
+ */
+public enum ItemFormat {
+
+    /**
+     * One value per line, optionally preceded by a `value` header line.
+     */
+    CSV,
+
+    /**
+     * One JSON object with a numeric `value` field per line.
+     */
+    NDJSON
+}
@@ -0,0 +1,34 @@
+package pl.example.spring.Item;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The kinds of items, each stored in its own table.
+ */
+public enum ItemKind {
+    COUNTABLE("countable_item"),
+    UNCOUNTABLE("uncountable_item");
+
+    private final String table;
+
+    ItemKind(String table) {
+        this.table = table;
+    }
+
+    /**
+     * @return The name of the table storing items of this kind.
+     */
+    public @NotNull String table() {
+        return table;
+    }
+
+    /**
+     * Determines the kind of an item.
+     *
+     * @param item The item.
+     * @return The kind of the item.
+     */
+    public static @NotNull ItemKind of(@NotNull Item item) {
+        return item instanceof CountableItem ? COUNTABLE : UNCOUNTABLE;
+    }
+}
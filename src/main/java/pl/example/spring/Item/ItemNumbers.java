@@ -0,0 +1,137 @@
+package pl.example.spring.Item;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses item values straight from ASCII bytes, so bulk ingestion does not create a string per row.
+ * Both methods accept the JSON number grammar only; anything else is rejected with a
+ * {@link NumberFormatException}.
+ */
+final class ItemNumbers {
+
+    /**
+     * Powers of ten that are exactly representable as doubles.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private ItemNumbers() {
+    }
+
+    /**
+     * Parses a whole number such as `-42`.
+     *
+     * @param bytes The buffer holding the number.
+     * @param start The index of the first byte of the number.
+     * @param end The index after the last byte of the number.
+     * @return The parsed value.
+     * @throws NumberFormatException If the bytes are not a whole number within the range of `long`.
+     */
+    static long parseLong(byte[] bytes, int start, int end) {
+        int i = start;
+        boolean negative = i < end && bytes[i] == '-';
+        if (negative) {
+            i++;
+        }
+        if (i == end) {
+            throw invalid(bytes, start, end);
+        }
+        // Accumulates negatively, so that Long.MIN_VALUE does not overflow.
+        long result = 0;
+        try {
+            for (; i < end; i++) {
+                int digit = bytes[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    throw invalid(bytes, start, end);
+                }
+                result = Math.subtractExact(Math.multiplyExact(result, 10), digit);
+            }
+            return negative ? result : Math.negateExact(result);
+        } catch (ArithmeticException e) {
+            throw invalid(bytes, start, end);
+        }
+    }
+
+    /**
+     * Parses a decimal number such as `-0.25` or `1.5e3`.
+     * Numbers with at most 15 significant digits and 22 fractional digits, and no exponent, are converted exactly
+     * with a single division; other numbers fall back to {@link Double#parseDouble(String)}.
+     *
+     * @param bytes The buffer holding the number.
+     * @param start The index of the first byte of the number.
+     * @param end The index after the last byte of the number.
+     * @return The parsed value, correctly rounded.
+     * @throws NumberFormatException If the bytes are not a JSON number, or the number overflows a `double`.
+     */
+    static double parseDouble(byte[] bytes, int start, int end) {
+        int i = start;
+        boolean negative = i < end && bytes[i] == '-';
+        if (negative) {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean exact = true;
+
+        int integerStart = i;
+        for (; i < end && isDigit(bytes[i]); i++) {
+            if (++digits > 15) {
+                exact = false;
+            }
+            mantissa = mantissa * 10 + (bytes[i] - '0');
+        }
+        if (i == integerStart) {
+            throw invalid(bytes, start, end);
+        }
+        if (i < end && bytes[i] == '.') {
+            int fractionStart = ++i;
+            for (; i < end && isDigit(bytes[i]); i++) {
+                if (++digits > 15 || ++scale >= POWERS_OF_TEN.length) {
+                    exact = false;
+                }
+                mantissa = mantissa * 10 + (bytes[i] - '0');
+            }
+            if (i == fractionStart) {
+                throw invalid(bytes, start, end);
+            }
+        }
+        if (i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            exact = false;
+            if (++i < end && (bytes[i] == '+' || bytes[i] == '-')) {
+                i++;
+            }
+            int exponentStart = i;
+            while (i < end && isDigit(bytes[i])) {
+                i++;
+            }
+            if (i == exponentStart) {
+                throw invalid(bytes, start, end);
+            }
+        }
+        if (i != end) {
+            throw invalid(bytes, start, end);
+        }
+
+        if (exact) {
+            double value = mantissa / POWERS_OF_TEN[scale];
+            return negative ? -value : value;
+        }
+        double value = Double.parseDouble(new String(bytes, start, end - start, StandardCharsets.US_ASCII));
+        if (Double.isInfinite(value)) {
+            throw invalid(bytes, start, end);
+        }
+        return value;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static NumberFormatException invalid(byte[] bytes, int start, int end) {
+        return new NumberFormatException(
+                "Invalid number: " + new String(bytes, start, Math.min(end - start, 64), StandardCharsets.US_ASCII));
+    }
+}
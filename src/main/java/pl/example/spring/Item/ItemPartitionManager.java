@@ -0,0 +1,197 @@
+package pl.example.spring.Item;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Keeps the PostgreSQL item tables range-partitioned by id.
+ *
+ * <p>Ids are drawn from a plain sequence, `<table>_seq`, because partitioned tables cannot have identity columns
+ * before PostgreSQL 17; Hibernate keeps mapping them as {@code IDENTITY}, reading back the defaulted id. Partition
+ * `<table>_p<n>` holds the ids from `n * partitionSize` up to, but excluding, `(n + 1) * partitionSize`, so lookups
+ * and id-range scans only touch the partitions covering their ids.</p>
+ *
+ * <p>At startup a missing table is created partitioned, and an existing unpartitioned table, as created by
+ * Hibernate, is attached whole as partition `<table>_legacy` below an aligned bound at least one partition above its
+ * highest id, which leaves room for rows other nodes insert meanwhile. Attaching a table scans it for rows outside
+ * the partition bound while holding an `ACCESS EXCLUSIVE` lock, unless a valid check constraint already proves there
+ * are none. The migration therefore runs in three transactions: the first adds `check (id < bound) not valid`, which
+ * is quick, the second validates it while reads and writes continue, and the third swaps the tables and attaches the
+ * old one without a scan. A migration interrupted in between resumes with the same bound. Partitions are then
+ * created ahead of the sequence, and again every `item.partitioning.check-interval`. There is no default partition,
+ * so a row is never stuck in one; instead, inserts fail once ids run past the partitions created ahead. Old
+ * partitions are never detached or dropped, so the tables keep every item ever inserted.</p>
+ */
+@Slf4j
+public class ItemPartitionManager {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ItemPartitioningProperties properties;
+
+    public ItemPartitionManager(DataSource dataSource, ItemPartitioningProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // The JPA transaction manager needs the entity manager factory, which is only created after this bean
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        for (var kind : ItemKind.values()) {
+            Long bound = transactionTemplate.execute(status -> prepare(kind));
+            if (bound != null) {
+                transactionTemplate.executeWithoutResult(status -> validateBound(kind));
+                transactionTemplate.executeWithoutResult(status -> attachLegacy(kind, bound));
+            }
+        }
+        roll();
+    }
+
+    /**
+     * Creates the partitions receiving the next ids of every item table, if they do not exist yet.
+     */
+    @Scheduled(fixedDelayString = "${item.partitioning.check-interval:10m}")
+    public void roll() {
+        for (var kind : ItemKind.values()) {
+            try {
+                createAhead(kind);
+            } catch (DataAccessException e) {
+                log.warn("Could not create the partitions of {}, retrying on the next check", kind.table(), e);
+            }
+        }
+    }
+
+    /**
+     * Lists the partitions of an item table.
+     *
+     * @param kind The kind of items.
+     * @return The names of the partitions, in alphabetical order.
+     */
+    public @NotNull List<String> partitions(@NotNull ItemKind kind) {
+        return jdbcTemplate.queryForList(
+                "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid "
+                        + "where i.inhparent = to_regclass(?) order by c.relname",
+                String.class, kind.table());
+    }
+
+    /**
+     * Creates a missing table partitioned, or bounds the ids of an unpartitioned one with a check constraint that is
+     * not validated yet, so only rows written from now on are checked.
+     *
+     * @return The bound of the legacy partition, or null if the table is partitioned already.
+     */
+    private Long prepare(ItemKind kind) {
+        String table = kind.table();
+        String relkind = lockedRelkind(table);
+        if ("p".equals(relkind)) {
+            return null;
+        }
+        jdbcTemplate.execute(format("create sequence if not exists %s_seq", table));
+        if (relkind == null) {
+            createPartitioned(kind);
+            log.info("Created partitioned table {}", table);
+            return null;
+        }
+
+        // Resumes an interrupted migration with the bound it already checks
+        var existing = jdbcTemplate.queryForList(
+                "select cast(substring(pg_get_constraintdef(oid) from '\\d+') as bigint) from pg_constraint "
+                        + "where conrelid = to_regclass(?) and conname = ?",
+                Long.class, table, table + "_legacy_bound");
+        if (!existing.isEmpty()) {
+            return existing.getFirst();
+        }
+        long size = properties.partitionSize();
+        long next = jdbcTemplate.queryForObject(format("select coalesce(max(id), 0) + 1 from %s", table), Long.class);
+        long bound = Math.ceilDiv(next, size) * size + size;
+        jdbcTemplate.execute(format("alter table %s add constraint %s_legacy_bound check (id < %d) not valid",
+                table, table, bound));
+        return bound;
+    }
+
+    /**
+     * Scans the unpartitioned table for rows above the bound. Validation only takes a `SHARE UPDATE EXCLUSIVE`
+     * lock, so the table stays readable and writable meanwhile.
+     */
+    private void validateBound(ItemKind kind) {
+        String table = kind.table();
+        if ("r".equals(lockedRelkind(table))) {
+            jdbcTemplate.execute(format("alter table %s validate constraint %s_legacy_bound", table, table));
+        }
+    }
+
+    /**
+     * Renames the unpartitioned table to `<table>_legacy` and attaches it below the bound. PostgreSQL skips the scan
+     * of the attached table, since the validated check constraint implies the partition bound; the constraint is
+     * then redundant and dropped.
+     */
+    private void attachLegacy(ItemKind kind, long bound) {
+        String table = kind.table();
+        if (!"r".equals(lockedRelkind(table))) {
+            return;
+        }
+        jdbcTemplate.execute(format("alter table %s alter column id drop identity if exists", table));
+        jdbcTemplate.execute(format("alter table %s alter column id drop default", table));
+        var primaryKey = jdbcTemplate.queryForList(
+                "select conname from pg_constraint where conrelid = to_regclass(?) and contype = 'p'",
+                String.class, table);
+        for (var constraint : primaryKey) {
+            jdbcTemplate.execute(format("alter table %s rename constraint %s to %s_legacy_pkey", table, constraint,
+                    table));
+        }
+        jdbcTemplate.execute(format("alter table %s rename to %s_legacy", table, table));
+        createPartitioned(kind);
+        jdbcTemplate.execute(format("alter table %s attach partition %s_legacy for values from (minvalue) to (%d)",
+                table, table, bound));
+        jdbcTemplate.execute(format("alter table %s_legacy drop constraint %s_legacy_bound", table, table));
+        jdbcTemplate.queryForObject(format("select setval('%s_seq', %d, false)", table, bound), Long.class);
+        log.info("Partitioned table {}, keeping its existing rows below id {} in {}_legacy", table, bound, table);
+    }
+
+    /**
+     * Serializes nodes migrating the same table until the current transaction ends.
+     *
+     * @return The kind of the table, `r` if unpartitioned, `p` if partitioned, or null if it does not exist.
+     */
+    private String lockedRelkind(String table) {
+        jdbcTemplate.queryForList("select pg_advisory_xact_lock(hashtext(?))", table);
+        return jdbcTemplate.query(
+                "select relkind from pg_class where oid = to_regclass(?)",
+                resultSet -> resultSet.next() ? resultSet.getString(1) : null, table);
+    }
+
+    private void createPartitioned(ItemKind kind) {
+        String table = kind.table();
+        String type = kind == ItemKind.COUNTABLE ? "bigint" : "double precision";
+        jdbcTemplate.execute(format("create table %s (id bigint not null default nextval('%s_seq'), "
+                + "\"value\" %s not null, constraint %s_pkey primary key (id)) partition by range (id)",
+                table, table, type, table));
+        jdbcTemplate.execute(format("alter sequence %s_seq owned by %s.id", table, table));
+    }
+
+    private void createAhead(ItemKind kind) {
+        String table = kind.table();
+        long size = properties.partitionSize();
+        long next = jdbcTemplate.queryForObject(
+                format("select case when is_called then last_value + 1 else last_value end from %s_seq", table),
+                Long.class);
+        long first = Math.floorDiv(next, size);
+        for (long n = first; n <= first + properties.lookahead(); n++) {
+            jdbcTemplate.execute(format(
+                    "create table if not exists %s_p%d partition of %s for values from (%d) to (%d)",
+                    table, n, table, n * size, (n + 1) * size));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package pl.example.spring.Item;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration of item table partitioning, active when `item.partitioning.enabled` is true.
+ * The {@link ItemPartitionManager} is created before the entity manager factory, so the item tables are
+ * partitioned before Hibernate inspects or updates the schema.
+ */
+@Configuration
+@ConditionalOnProperty(name = "item.partitioning.enabled", havingValue = "true")
+@EnableConfigurationProperties(ItemPartitioningProperties.class)
+public class ItemPartitioningConfiguration {
+
+    @Bean
+    public ItemPartitionManager itemPartitionManager(DataSource dataSource, ItemPartitioningProperties properties) {
+        return new ItemPartitionManager(dataSource, properties);
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor itemPartitionManagerDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(ItemPartitionManager.class);
+    }
+}
@@ -0,0 +1,26 @@
+package pl.example.spring.Item;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of item table partitioning, bound from the `item.partitioning` prefix.
+ *
+ * @param enabled Whether the item tables are range-partitioned by id; requires PostgreSQL.
+ * @param partitionSize The number of ids covered by one partition.
+ * @param lookahead The number of partitions kept created beyond the one receiving new ids; together with the check
+ *                  interval, it bounds how many items can be inserted before inserts fail for want of a partition.
+ *                  The defaults cover 200 million ids ahead, over half an hour of inserts at 100 thousand rows per
+ *                  second, against a check every ten minutes.
+ * @param checkInterval How often missing partitions are created.
+ */
+@ConfigurationProperties("item.partitioning")
+public record ItemPartitioningProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100000000") long partitionSize,
+        @DefaultValue("2") int lookahead,
+        @DefaultValue("10m") Duration checkInterval
+) {
+}
@@ -0,0 +1,60 @@
+package pl.example.spring.Item;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import pl.example.spring.metrics.StatementRecorder;
+
+import java.math.BigDecimal;
+
+/**
+ * SQL shared by the repositories of both item kinds, whose tables have the same layout.
+ */
+final class ItemQueries {
+
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private ItemQueries() {
+    }
+
+    /**
+     * Computes a histogram with a single grouped query, so only one row per non-empty bucket leaves the database.
+     * The bounds are cast explicitly, so that the bucket of a `bigint` value is not computed with integer division.
+     *
+     * @param jdbcTemplate The template to run the query with.
+     * @param statementRecorder The recorder the query is reported to.
+     * @param table The item table.
+     * @param min The lower bound of the first bucket.
+     * @param max The upper bound of the last bucket; must be greater than `min`.
+     * @param buckets The number of buckets.
+     * @return The number of values in each bucket.
+     * @see ItemAggregates#histogram(double, double, int)
+     */
+    static long[] histogram(JdbcTemplate jdbcTemplate, StatementRecorder statementRecorder, String table,
+                            double min, double max, int buckets) {
+        var counts = new long[buckets];
+        double width = (max - min) / buckets;
+        var sql = "select bucket, count(*) from ("
+                + "select least(cast(floor((\"value\" - cast(? as double precision)) "
+                + "/ cast(? as double precision)) as integer), ?) as bucket from " + table
+                + " where \"value\" >= cast(? as double precision)"
+                + " and \"value\" <= cast(? as double precision)"
+                + ") buckets group by bucket";
+        statementRecorder.inspect(sql);
+        jdbcTemplate.query(sql,
+                (RowCallbackHandler) resultSet -> counts[resultSet.getInt(1)] = resultSet.getLong(2),
+                min, width, buckets - 1, min, max);
+        return counts;
+    }
+
+    /**
+     * Narrows the exact sum of countable values to a `long` when it fits. PostgreSQL sums `bigint` columns as
+     * `numeric`, so the sum of many large values may exceed the range of the column type; it is then kept as it is.
+     *
+     * @param sum The exact sum.
+     * @return The sum as a {@link Long}, or as the {@link BigDecimal} if it is out of range.
+     */
+    static Number countableSum(BigDecimal sum) {
+        return sum.compareTo(LONG_MIN) >= 0 && sum.compareTo(LONG_MAX) <= 0 ? (Number) sum.longValue() : sum;
+    }
+}
@@ -0,0 +1,144 @@
+package pl.example.spring.Item;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+
+import static java.lang.String.format;
+
+/**
+ * Splits a bulk ingestion body into lines and locates the value of each line, without copying the input.
+ * Lines are read into one reusable buffer and the bytes of every value are handed to a {@link Sink}, so no object
+ * is created per row.
+ */
+final class ItemRowReader {
+
+    /**
+     * Size of the read buffer, which is also the maximum length of a line.
+     */
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final byte[] CSV_HEADER = {'v', 'a', 'l', 'u', 'e'};
+    private static final byte[] QUOTED_CSV_HEADER = {'"', 'v', 'a', 'l', 'u', 'e', '"'};
+    private static final byte[] JSON_KEY = QUOTED_CSV_HEADER;
+
+    /**
+     * Receives the bytes of each value; the buffer is reused once the method returns.
+     */
+    @FunctionalInterface
+    interface Sink {
+        void accept(byte[] buffer, int start, int end) throws SQLException;
+    }
+
+    private ItemRowReader() {
+    }
+
+    /**
+     * Reads the input to its end, passing the value of every non-blank line to the sink.
+     *
+     * @param input The body to read.
+     * @param format The format of the body.
+     * @param sink The receiver of values.
+     * @return The number of values passed to the sink.
+     * @throws IllegalArgumentException If a line is too long, malformed or its value rejected by the sink.
+     */
+    static long read(InputStream input, ItemFormat format, Sink sink) throws IOException, SQLException {
+        var buffer = new byte[BUFFER_SIZE];
+        int start = 0;
+        int limit = 0;
+        long lines = 0;
+        long rows = 0;
+        while (true) {
+            int scanned = limit;
+            int read = input.read(buffer, limit, buffer.length - limit);
+            if (read > 0) {
+                limit += read;
+            }
+            for (int i = scanned; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    rows += line(buffer, start, i, ++lines, format, sink);
+                    start = i + 1;
+                }
+            }
+            if (read < 0) {
+                if (start < limit) {
+                    rows += line(buffer, start, limit, ++lines, format, sink);
+                }
+                return rows;
+            }
+            if (start == 0 && limit == buffer.length) {
+                throw new IllegalArgumentException(format("Line %d is longer than %d bytes", lines + 1, BUFFER_SIZE));
+            }
+            System.arraycopy(buffer, start, buffer, 0, limit - start);
+            limit -= start;
+            start = 0;
+        }
+    }
+
+    private static int line(byte[] buffer, int start, int end, long line, ItemFormat format, Sink sink)
+            throws SQLException {
+        while (start < end && isWhitespace(buffer[start])) {
+            start++;
+        }
+        while (end > start && isWhitespace(buffer[end - 1])) {
+            end--;
+        }
+        if (start == end) {
+            return 0;
+        }
+        if (format == ItemFormat.CSV) {
+            boolean header = matches(buffer, start, end, CSV_HEADER) || matches(buffer, start, end, QUOTED_CSV_HEADER);
+            if (line == 1 && header) {
+                return 0;
+            }
+        } else {
+            int key = indexOf(buffer, start, end, JSON_KEY);
+            if (key < 0) {
+                throw new IllegalArgumentException(format("Line %d has no \"value\" field", line));
+            }
+            start = key + JSON_KEY.length;
+            while (start < end && isWhitespace(buffer[start])) {
+                start++;
+            }
+            if (start == end || buffer[start++] != ':') {
+                throw new IllegalArgumentException(format("Line %d has no \"value\" field", line));
+            }
+            while (start < end && isWhitespace(buffer[start])) {
+                start++;
+            }
+            int valueEnd = start;
+            while (valueEnd < end && buffer[valueEnd] != ',' && buffer[valueEnd] != '}'
+                    && !isWhitespace(buffer[valueEnd])) {
+                valueEnd++;
+            }
+            end = valueEnd;
+        }
+        try {
+            sink.accept(buffer, start, end);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(format("Line %d: %s", line, e.getMessage()), e);
+        }
+        return 1;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static boolean matches(byte[] buffer, int start, int end, byte[] expected) {
+        return end - start == expected.length && indexOf(buffer, start, end, expected) == start;
+    }
+
+    private static int indexOf(byte[] buffer, int start, int end, byte[] expected) {
+        outer:
+        for (int i = start; i <= end - expected.length; i++) {
+            for (int j = 0; j < expected.length; j++) {
+                if (buffer[i + j] != expected[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
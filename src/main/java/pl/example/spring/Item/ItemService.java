@@ -0,0 +1,197 @@
+package pl.example.spring.Item;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.example.spring.api.ItemIngestResult;
+import pl.example.spring.api.ItemRequest;
+import pl.example.spring.api.ItemResponse;
+import pl.example.spring.api.ItemTotal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+import static java.lang.String.format;
+
+/**
+ * Service creating, reading, updating and deleting countable and uncountable items.
+ * Single items are written through JPA, whose {@link ItemWriteListener} invalidates cached aggregates; bulk deletes
+ * and ingestion bypass it, so the {@link ItemAggregationCache} is notified here.
+ * Every write is also reported to the {@link ItemTotals} as a change of the count and sum of its kind.
+ */
+@AllArgsConstructor
+@Service
+@Timed(value = "item.service", description = "Time spent in ItemService methods")
+public class ItemService {
+    private final CountableItemRepository countableItemRepository;
+    private final UncountableItemRepository uncountableItemRepository;
+    private final ItemBulkLoader itemBulkLoader;
+    private final ItemAggregationCache itemAggregationCache;
+    private final ItemTotals itemTotals;
+
+    /**
+     * Retrieves an item by its unique identifier.
+     *
+     * @param kind The kind of the item.
+     * @param id The unique identifier of the item.
+     * @return The {@link ItemResponse} of the item.
+     * @throws NoSuchElementException If there is no item of that kind with the provided ID.
+     */
+    public @NotNull ItemResponse get(@NotNull ItemKind kind, long id) {
+        return switch (kind) {
+            case COUNTABLE -> countableItemRepository.findById(id)
+                    .map(item -> new ItemResponse(item.getId(), item.getValue()))
+                    .orElseThrow(() -> notFound(kind, id));
+            case UNCOUNTABLE -> uncountableItemRepository.findById(id)
+                    .map(item -> new ItemResponse(item.getId(), item.getValue()))
+                    .orElseThrow(() -> notFound(kind, id));
+        };
+    }
+
+    /**
+     * Retrieves the count and sum of the values of all items of one kind from the {@link ItemTotals}, without
+     * querying the database.
+     *
+     * @param kind The kind of items.
+     * @return The {@link ItemTotal} of the kind.
+     */
+    public @NotNull ItemTotal total(@NotNull ItemKind kind) {
+        return itemTotals.total(kind);
+    }
+
+    /**
+     * Creates a new item.
+     *
+     * @param kind The kind of the item.
+     * @param request The value of the item.
+     * @return The {@link ItemResponse} of the created item.
+     * @throws IllegalArgumentException If the value is not valid for the kind.
+     */
+    public @NotNull ItemResponse create(@NotNull ItemKind kind, @NotNull ItemRequest request) {
+        return switch (kind) {
+            case COUNTABLE -> {
+                var item = new CountableItem();
+                item.setValue(countableValue(request));
+                item = countableItemRepository.save(item);
+                itemTotals.countableChanged(1, item.getValue());
+                yield new ItemResponse(item.getId(), item.getValue());
+            }
+            case UNCOUNTABLE -> {
+                var item = new UncountableItem();
+                item.setValue(uncountableValue(request));
+                item = uncountableItemRepository.save(item);
+                itemTotals.uncountableChanged(1, item.getValue());
+                yield new ItemResponse(item.getId(), item.getValue());
+            }
+        };
+    }
+
+    /**
+     * Changes the value of an existing item.
+     * The row is locked while its previous value is read, so concurrent updates report consistent deltas to the
+     * {@link ItemTotals}.
+     *
+     * @param kind The kind of the item.
+     * @param id The unique identifier of the item.
+     * @param request The new value of the item.
+     * @throws IllegalArgumentException If the value is not valid for the kind.
+     * @throws NoSuchElementException If there is no item of that kind with the provided ID.
+     */
+    @Transactional
+    public void update(@NotNull ItemKind kind, long id, @NotNull ItemRequest request) {
+        switch (kind) {
+            case COUNTABLE -> {
+                long value = countableValue(request);
+                var item = countableItemRepository.findForUpdateById(id).orElseThrow(() -> notFound(kind, id));
+                long previous = item.getValue();
+                item.setValue(value);
+                countableItemRepository.save(item);
+                itemTotals.countableChanged(0, value - previous);
+            }
+            case UNCOUNTABLE -> {
+                double value = uncountableValue(request);
+                var item = uncountableItemRepository.findForUpdateById(id).orElseThrow(() -> notFound(kind, id));
+                double previous = item.getValue();
+                item.setValue(value);
+                uncountableItemRepository.save(item);
+                itemTotals.uncountableChanged(0, value - previous);
+            }
+        }
+    }
+
+    /**
+     * Deletes an item with a single statement, after reading and locking its row for the {@link ItemTotals}.
+     *
+     * @param kind The kind of the item.
+     * @param id The unique identifier of the item.
+     * @throws NoSuchElementException If there is no item of that kind with the provided ID.
+     */
+    @Transactional
+    public void delete(@NotNull ItemKind kind, long id) {
+        switch (kind) {
+            case COUNTABLE -> {
+                var item = countableItemRepository.findForUpdateById(id).orElseThrow(() -> notFound(kind, id));
+                if (countableItemRepository.deleteItemById(id) == 0) {
+                    throw notFound(kind, id);
+                }
+                itemTotals.countableChanged(-1, -item.getValue());
+            }
+            case UNCOUNTABLE -> {
+                var item = uncountableItemRepository.findForUpdateById(id).orElseThrow(() -> notFound(kind, id));
+                if (uncountableItemRepository.deleteItemById(id) == 0) {
+                    throw notFound(kind, id);
+                }
+                itemTotals.uncountableChanged(-1, -item.getValue());
+            }
+        }
+        itemAggregationCache.written(kind);
+    }
+
+    /**
+     * Inserts one item per line of a CSV or NDJSON body with the {@link ItemBulkLoader}.
+     * Must be called within a transaction, so that a malformed line rejects the whole body.
+     *
+     * @param kind The kind of the items.
+     * @param format The format of the body.
+     * @param input The body, read to its end.
+     * @return The {@link ItemIngestResult} with the number of inserted items.
+     * @throws IllegalArgumentException If a line is malformed.
+     * @throws IOException If the body cannot be read.
+     */
+    public @NotNull ItemIngestResult ingest(@NotNull ItemKind kind, @NotNull ItemFormat format,
+                                            @NotNull InputStream input) throws IOException {
+        var loaded = itemBulkLoader.load(kind, format, input);
+        itemAggregationCache.written(kind);
+        switch (kind) {
+            case COUNTABLE -> itemTotals.countableChanged(loaded.rows(), loaded.countableSum());
+            case UNCOUNTABLE -> itemTotals.uncountableChanged(loaded.rows(), loaded.uncountableSum());
+        }
+        return new ItemIngestResult(loaded.rows());
+    }
+
+    private static long countableValue(ItemRequest request) {
+        try {
+            return request.value().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                    format("Countable item value must be a whole number within range: %s", request.value()), e);
+        }
+    }
+
+    private static double uncountableValue(ItemRequest request) {
+        double value = request.value().doubleValue();
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException(format("Uncountable item value is out of range: %s", request.value()));
+        }
+        return value;
+    }
+
+    private static NoSuchElementException notFound(ItemKind kind, long id) {
+        return new NoSuchElementException(
+                format("Cannot find %s item with id: %d", kind.name().toLowerCase(Locale.ROOT), id));
+    }
+}
@@ -0,0 +1,212 @@
+package pl.example.spring.Item;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.example.spring.api.ItemStatistics;
+import pl.example.spring.api.ItemTotal;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running count and sum of the values of all items of each {@link ItemKind}, answered without querying the
+ * database.
+ *
+ * <p>The totals are held in {@link LongAdder} and {@link DoubleAdder} cells, which spread concurrent updates over
+ * striped cells instead of contending on one. The {@link ItemService} reports every insert, update and delete as a
+ * delta, which is applied once its transaction commits. The totals are loaded from the database at startup and
+ * reconciled with it periodically; a difference is counted as `item.totals.drift`, logged and corrected. Updates
+ * and deletes read the previous value under a row lock, so concurrent writes to one item report deltas that add up.
+ * Drift is still expected when items are written by other nodes or outside the application, or when an uncountable
+ * sum accumulates rounding errors.</p>
+ *
+ * <p>Reconciliation is skipped while a reported write is still in flight, because the database may already contain
+ * a change the totals do not yet.</p>
+ */
+@Slf4j
+@Component
+public class ItemTotals {
+
+    /**
+     * Relative difference between an uncountable sum and the database below which it is treated as rounding.
+     */
+    private static final double ROUNDING_TOLERANCE = 1e-9;
+
+    private final CountableItemRepository countableItemRepository;
+    private final UncountableItemRepository uncountableItemRepository;
+    private final Map<ItemKind, LongAdder> counts = new EnumMap<>(ItemKind.class);
+    private final LongAdder countableSum = new LongAdder();
+    private final DoubleAdder uncountableSum = new DoubleAdder();
+    private final Map<ItemKind, Counter> drifts = new EnumMap<>(ItemKind.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong applied = new AtomicLong();
+    private volatile boolean loaded;
+
+    public ItemTotals(CountableItemRepository countableItemRepository,
+                      UncountableItemRepository uncountableItemRepository,
+                      MeterRegistry registry) {
+        this.countableItemRepository = countableItemRepository;
+        this.uncountableItemRepository = uncountableItemRepository;
+        for (var kind : ItemKind.values()) {
+            counts.put(kind, new LongAdder());
+            drifts.put(kind, Counter.builder("item.totals.drift")
+                    .description("Number of times the item totals differed from the database")
+                    .tag("kind", kind.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        try {
+            boolean countable = reconcile(ItemKind.COUNTABLE, false);
+            boolean uncountable = reconcile(ItemKind.UNCOUNTABLE, false);
+            loaded = countable && uncountable;
+        } catch (DataAccessException e) {
+            log.warn("Could not load the item totals, answering from the database until they are reconciled", e);
+        }
+    }
+
+    /**
+     * Compares the totals with the database and corrects them.
+     */
+    @Scheduled(fixedDelayString = "${item.totals.reconcile-interval:1m}")
+    public void reconcile() {
+        try {
+            boolean countable = reconcile(ItemKind.COUNTABLE, loaded);
+            boolean uncountable = reconcile(ItemKind.UNCOUNTABLE, loaded);
+            if (countable && uncountable) {
+                loaded = true;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not reconcile the item totals, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Retrieves the count and sum of the values of all items of one kind.
+     *
+     * @param kind The kind of items.
+     * @return The {@link ItemTotal} of the kind.
+     */
+    public @NotNull ItemTotal total(@NotNull ItemKind kind) {
+        if (!loaded) {
+            var statistics = repository(kind).statistics();
+            return new ItemTotal(statistics.count(), statistics.sum());
+        }
+        return switch (kind) {
+            case COUNTABLE -> new ItemTotal(counts.get(kind).sum(), countableSum.sum());
+            case UNCOUNTABLE -> new ItemTotal(counts.get(kind).sum(), uncountableSum.sum());
+        };
+    }
+
+    /**
+     * Reports a change to countable items, applied once the current transaction commits.
+     *
+     * @param count The change of the number of items.
+     * @param sum The change of the sum of their values.
+     */
+    public void countableChanged(long count, long sum) {
+        changed(() -> {
+            counts.get(ItemKind.COUNTABLE).add(count);
+            countableSum.add(sum);
+        });
+    }
+
+    /**
+     * Reports a change to uncountable items, applied once the current transaction commits.
+     *
+     * @param count The change of the number of items.
+     * @param sum The change of the sum of their values.
+     */
+    public void uncountableChanged(long count, double sum) {
+        changed(() -> {
+            counts.get(ItemKind.UNCOUNTABLE).add(count);
+            uncountableSum.add(sum);
+        });
+    }
+
+    private void changed(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            applied.incrementAndGet();
+            return;
+        }
+        inFlight.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        change.run();
+                    }
+                } finally {
+                    applied.incrementAndGet();
+                    inFlight.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    /**
+     * Corrects the totals of one kind by their difference from the database.
+     * The totals are read before checking that no write was applied meanwhile, and the difference is added rather
+     * than the totals replaced, so changes applied concurrently are kept.
+     *
+     * @return Whether the totals were compared; false if a write was in flight.
+     */
+    private boolean reconcile(ItemKind kind, boolean reportDrift) {
+        long before = applied.get();
+        if (inFlight.get() > 0) {
+            return false;
+        }
+        ItemStatistics statistics = repository(kind).statistics();
+        long count = counts.get(kind).sum();
+        Number sum = kind == ItemKind.COUNTABLE ? (Number) countableSum.sum() : (Number) uncountableSum.sum();
+        if (inFlight.get() > 0 || applied.get() != before) {
+            return false;
+        }
+
+        long countDrift = statistics.count() - count;
+        counts.get(kind).add(countDrift);
+        boolean drifted = countDrift != 0;
+        if (kind == ItemKind.COUNTABLE) {
+            // A sum beyond the range of long is compared by its low-order 64 bits, which is what the adder holds
+            long sumDrift = statistics.sum().longValue() - sum.longValue();
+            countableSum.add(sumDrift);
+            drifted |= sumDrift != 0;
+        } else {
+            double expected = statistics.sum().doubleValue();
+            double sumDrift = expected - sum.doubleValue();
+            uncountableSum.add(sumDrift);
+            drifted |= Math.abs(sumDrift) > ROUNDING_TOLERANCE * Math.max(1, Math.abs(expected));
+        }
+
+        if (drifted && reportDrift) {
+            drifts.get(kind).increment();
+            log.warn("Item totals of kind {} drifted: count {} instead of {}, sum {} instead of {}",
+                    kind, count, statistics.count(), sum, statistics.sum());
+        }
+        return true;
+    }
+
+    private ItemAggregates repository(ItemKind kind) {
+        return switch (kind) {
+            case COUNTABLE -> countableItemRepository;
+            case UNCOUNTABLE -> uncountableItemRepository;
+        };
+    }
+}
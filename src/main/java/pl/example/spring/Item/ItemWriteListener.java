@@ -0,0 +1,26 @@
+package pl.example.spring.Item;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener dropping cached aggregates of the kind of an {@link Item} that was created, changed or
+ * removed.
+ * Hibernate obtains it from the Spring context, so the {@link ItemAggregationCache} can be injected.
+ */
+@Component
+@AllArgsConstructor
+public class ItemWriteListener {
+
+    private final ItemAggregationCache itemAggregationCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void itemWritten(Item item) {
+        itemAggregationCache.written(ItemKind.of(item));
+    }
+}
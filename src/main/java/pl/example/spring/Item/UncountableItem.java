@@ -1,13 +1,24 @@
 package pl.example.spring.Item;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 
+/**
+ * An item measured in a continuous quantity.
+ */
 @Getter
 @Setter
 @Entity
 @Table(name = "uncountable_item")
 public class UncountableItem extends Item {
-}
\ No newline at end of file
+
+    /**
+     * The measured quantity, stored in a `double precision` column.
+     * The column name is quoted because `value` is a keyword in H2.
+     */
+    @Column(name = "\"value\"", nullable = false)
+    private double value;
+}
@@ -1,4 +1,80 @@
 package pl.example.spring.Item;
 
-public interface UncountableItemRepository {
-}
\ No newline at end of file
+import org.jetbrains.annotations.NotNull;
+import pl.example.spring.api.ItemStatistics;
+
+import java.util.Optional;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Repository interface for managing {@link UncountableItem} entities.
+ * Aggregates over item values are computed by the database.
+ */
+public interface UncountableItemRepository extends ItemAggregates {
+
+    /**
+     * Retrieves an uncountable item by its unique identifier.
+     *
+     * @param id The unique identifier of the item.
+     * @return An {@link Optional} containing the {@link UncountableItem} if found, or empty otherwise.
+     */
+    Optional<UncountableItem> findById(long id);
+
+    /**
+     * Retrieves an uncountable item by its unique identifier and locks its row until the transaction ends, so that
+     * concurrent updates and deletes of the item are applied one after another.
+     *
+     * @param id The unique identifier of the item.
+     * @return An {@link Optional} containing the locked {@link UncountableItem} if found, or empty otherwise.
+     */
+    Optional<UncountableItem> findForUpdateById(long id);
+
+    /**
+     * Saves an uncountable item to the database.
+     *
+     * @param item The {@link UncountableItem} entity to save.
+     * @return The saved {@link UncountableItem} entity.
+     */
+    UncountableItem save(UncountableItem item);
+
+    /**
+     * Deletes an uncountable item by its unique identifier with a single statement, without loading the entity first.
+     *
+     * @param id The unique identifier of the item to delete.
+     * @return The number of deleted items; 0 if no item has the provided ID.
+     */
+    int deleteItemById(long id);
+
+    /**
+     * Computes aggregates over the uncountable items within an id range.
+     * On a table partitioned by id, only the partitions overlapping the range are scanned.
+     *
+     * @param fromId The lowest id included.
+     * @param toId The id after the highest id included.
+     * @return The {@link ItemStatistics} of the values.
+     */
+    @NotNull
+    ItemStatistics statistics(long fromId, long toId);
+
+    /**
+     * Counts all uncountable items.
+     *
+     * @return The total number of uncountable items.
+     */
+    long count();
+
+    /**
+     * Passes the value of every uncountable item to the given action, without loading entities or boxing values.
+     *
+     * @param fetchSize Number of rows fetched from the database per round-trip.
+     * @param action The action to invoke for each value.
+     */
+    void forEachValue(int fetchSize, DoubleConsumer action);
+
+    /**
+     * Retrieves the values of all uncountable items into a primitive array.
+     *
+     * @return The values, in no particular order.
+     */
+    double[] findAllValues();
+}
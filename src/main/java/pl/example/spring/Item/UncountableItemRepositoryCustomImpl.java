@@ -0,0 +1,119 @@
+package pl.example.spring.Item;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+import pl.example.spring.api.ItemStatistics;
+import pl.example.spring.metrics.StatementRecorder;
+
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+
+/**
+ * JDBC-based implementation of {@link UncountableItemRepositoryCustom}.
+ * Values are read straight from the result set with `getDouble`, so no entity or boxed value is created per row.
+ * Hibernate never sees these statements, so each one is reported to the {@link StatementRecorder} before it runs,
+ * and the repository metrics count it like any other.
+ */
+public class UncountableItemRepositoryCustomImpl implements UncountableItemRepositoryCustom {
+
+    /**
+     * Number of rows fetched per database round-trip when reading all values.
+     */
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StatementRecorder statementRecorder;
+
+    public UncountableItemRepositoryCustomImpl(JdbcTemplate jdbcTemplate, StatementRecorder statementRecorder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.statementRecorder = statementRecorder;
+    }
+
+    /**
+     * Scrolls over the `uncountable_item` table, selecting only the value column.
+     * The read runs in a transaction, so the PostgreSQL driver honours the fetch size and streams the rows through a
+     * cursor instead of buffering the whole result.
+     *
+     * @param fetchSize Number of rows fetched from the database per round-trip.
+     * @param action The action to invoke for each value.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachValue(int fetchSize, @NotNull DoubleConsumer action) {
+        var sql = "select \"value\" from uncountable_item";
+        statementRecorder.inspect(sql);
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> action.accept(resultSet.getDouble(1)));
+    }
+
+    /**
+     * Collects all values into a {@link DoubleStream.Builder}, which grows in primitive chunks without copying.
+     *
+     * @return The values, in no particular order.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public double[] findAllValues() {
+        var values = DoubleStream.builder();
+        forEachValue(FETCH_SIZE, values);
+        return values.build().toArray();
+    }
+
+    /**
+     * Computes all statistics in a single aggregate query, so only one row leaves the database.
+     *
+     * @return The {@link ItemStatistics} of the values.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public @NotNull ItemStatistics statistics() {
+        return statistics("");
+    }
+
+    /**
+     * Computes all statistics in a single aggregate query restricted by id, which PostgreSQL uses to prune
+     * partitions and otherwise narrows down with the primary key index.
+     *
+     * @param fromId The lowest id included.
+     * @param toId The id after the highest id included.
+     * @return The {@link ItemStatistics} of the values.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public @NotNull ItemStatistics statistics(long fromId, long toId) {
+        return statistics(" where id >= ? and id < ?", fromId, toId);
+    }
+
+    private ItemStatistics statistics(String where, Object... args) {
+        var sql = "select count(*), sum(\"value\"), min(\"value\"), max(\"value\"), avg(\"value\") "
+                + "from uncountable_item" + where;
+        statementRecorder.inspect(sql);
+        return jdbcTemplate.queryForObject(sql, (resultSet, rowNum) -> {
+            long count = resultSet.getLong(1);
+            if (count == 0) {
+                return new ItemStatistics(0, 0.0, null, null, null);
+            }
+            return new ItemStatistics(count, resultSet.getDouble(2), resultSet.getDouble(3),
+                    resultSet.getDouble(4), resultSet.getDouble(5));
+        }, args);
+    }
+
+    /**
+     * Computes the histogram with a single grouped query.
+     *
+     * @param min The lower bound of the first bucket.
+     * @param max The upper bound of the last bucket; must be greater than `min`.
+     * @param buckets The number of buckets.
+     * @return The number of values in each bucket.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long[] histogram(double min, double max, int buckets) {
+        return ItemQueries.histogram(jdbcTemplate, statementRecorder, "uncountable_item", min, max, buckets);
+    }
+}
@@ -1,8 +1,47 @@
 package pl.example.spring.Item;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository of {@link UncountableItem} entities.
+ * Bulk reads of values are implemented with JDBC in {@link UncountableItemRepositoryCustomImpl}.
+ */
 @Repository
-public interface UncountableItemRepositorySql extends UncountableItemRepository, JpaRepository<UncountableItem, Long> {
+public interface UncountableItemRepositorySql
+        extends UncountableItemRepository, UncountableItemRepositoryCustom, JpaRepository<UncountableItem, Long> {
+
+    /**
+     * Loads an uncountable item with `SELECT ... FOR UPDATE`.
+     * The transaction is read-write, because the row lock is not allowed in a read-only one.
+     *
+     * @param id The unique identifier of the item.
+     * @return An {@link Optional} containing the locked {@link UncountableItem} if found, or empty otherwise.
+     */
+    @Override
+    @Transactional
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from UncountableItem i where i.id = :id")
+    Optional<UncountableItem> findForUpdateById(@Param("id") long id);
+
+    /**
+     * Deletes an uncountable item with a single bulk `DELETE` statement.
+     * Bulk statements bypass the {@link ItemWriteListener}, so callers report the write themselves.
+     *
+     * @param id The unique identifier of the item to delete.
+     * @return The number of deleted items; 0 if no item has the provided ID.
+     */
+    @Override
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from UncountableItem i where i.id = :id")
+    int deleteItemById(@Param("id") long id);
 }
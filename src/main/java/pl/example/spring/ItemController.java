@@ -0,0 +1,331 @@
+package pl.example.spring;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import pl.example.spring.Item.ItemAggregationService;
+import pl.example.spring.Item.ItemFormat;
+import pl.example.spring.Item.ItemKind;
+import pl.example.spring.Item.ItemService;
+import pl.example.spring.api.ItemHistogramBucket;
+import pl.example.spring.api.ItemIngestResult;
+import pl.example.spring.api.ItemRequest;
+import pl.example.spring.api.ItemResponse;
+import pl.example.spring.api.ItemStatistics;
+import pl.example.spring.api.ItemTotal;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+
+/**
+ * REST controller for countable and uncountable items.
+ * The kind of items is the first path segment, `countable` or `uncountable`.
+ *
+ * <p>Aggregates are computed over all items of a kind without loading them, and cached until an item of that kind
+ * is written.</p>
+ *
+ * <p>Many items can be ingested at once from a CSV or NDJSON body, which is streamed into the database without
+ * being buffered in memory; see {@link pl.example.spring.Item.ItemBulkLoader}.</p>
+ */
+@AllArgsConstructor
+@RestController
+@RequestMapping("/api/item")
+@Tag(name = "Item API", description = "API for managing and analyzing items")
+public class ItemController {
+    private final ItemService itemService;
+    private final ItemAggregationService itemAggregationService;
+
+    /**
+     * Retrieves an item by its unique identifier.
+     *
+     * @param kind The kind of the item, `countable` or `uncountable`.
+     * @param id The unique identifier of the item.
+     * @return The {@link ItemResponse} of the item.
+     */
+    @Operation(summary = "Get item by ID", description = "Retrieves an item of one kind by its unique identifier.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved item"),
+            @ApiResponse(responseCode = "404", description = "Item not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/{kind:countable|uncountable}/{id}", produces = APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public ItemResponse getItem(
+            @Parameter(description = "The kind of the item", required = true)
+            @PathVariable String kind,
+            @Parameter(description = "The unique identifier of the item", required = true)
+            @PathVariable long id
+    ) {
+        return handled(() -> itemService.get(kind(kind), id));
+    }
+
+    /**
+     * Creates a new item.
+     *
+     * @param kind The kind of the item, `countable` or `uncountable`.
+     * @param item The {@link ItemRequest} with the value of the item.
+     * @return The {@link ItemResponse} of the created item.
+     */
+    @Operation(summary = "Create a new item", description = "Creates a new item of one kind with the provided value.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Item successfully created"),
+            @ApiResponse(responseCode = "400", description = "Invalid value provided"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/{kind:countable|uncountable}", produces = APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    @Transactional
+    public ItemResponse addItem(
+            @Parameter(description = "The kind of the item", required = true)
+            @PathVariable String kind,
+            @Parameter(description = "Item data to create", required = true)
+            @Valid @RequestBody ItemRequest item
+    ) {
+        return handled(() -> itemService.create(kind(kind), item));
+    }
+
+    /**
+     * Changes the value of an existing item.
+     *
+     * @param kind The kind of the item, `countable` or `uncountable`.
+     * @param id The unique identifier of the item.
+     * @param item The {@link ItemRequest} with the new value of the item.
+     */
+    @Operation(summary = "Update item by ID", description = "Changes the value of an existing item of one kind.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Item successfully updated"),
+            @ApiResponse(responseCode = "400", description = "Invalid value provided"),
+            @ApiResponse(responseCode = "404", description = "Item not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PutMapping("/{kind:countable|uncountable}/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    @Transactional
+    public void updateItem(
+            @Parameter(description = "The kind of the item", required = true)
+            @PathVariable String kind,
+            @Parameter(description = "The unique identifier of the item", required = true)
+            @PathVariable long id,
+            @Parameter(description = "Updated item data", required = true)
+            @Valid @RequestBody ItemRequest item
+    ) {
+        handled(() -> {
+            itemService.update(kind(kind), id, item);
+            return null;
+        });
+    }
+
+    /**
+     * Deletes an item by its unique identifier.
+     *
+     * @param kind The kind of the item, `countable` or `uncountable`.
+     * @param id The unique identifier of the item.
+     */
+    @Operation(summary = "Delete item by ID", description = "Deletes an item of one kind by its unique identifier.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Item successfully deleted"),
+            @ApiResponse(responseCode = "404", description = "Item not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @DeleteMapping("/{kind:countable|uncountable}/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    @Transactional
+    public void deleteItem(
+            @Parameter(description = "The kind of the item", required = true)
+            @PathVariable String kind,
+            @Parameter(description = "The unique identifier of the item", required = true)
+            @PathVariable long id
+    ) {
+        handled(() -> {
+            itemService.delete(kind(kind), id);
+            return null;
+        });
+    }
+
+    /**
+     * Inserts one item per line of a CSV body, with one value per line and an optional `value` header.
+     * The body is inserted in a single transaction, so a malformed line rejects all of it.
+     *
+     * @param kind The kind of the items, `countable` or `uncountable`.
+     * @param request The request whose body is streamed into the database.
+     * @return The {@link ItemIngestResult} with the number of inserted items.
+     */
+    @Operation(summary = "Ingest items from CSV", description = "Inserts one item per line of a CSV body.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Items successfully inserted"),
+            @ApiResponse(responseCode = "400", description = "Malformed line; no items inserted"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/{kind:countable|uncountable}/bulk", consumes = "text/csv", produces = APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    @Transactional
+    public ItemIngestResult ingestCsv(
+            @Parameter(description = "The kind of the items", required = true)
+            @PathVariable String kind,
+            HttpServletRequest request
+    ) throws IOException {
+        return ingest(kind, ItemFormat.CSV, request);
+    }
+
+    /**
+     * Inserts one item per line of an NDJSON body, with a JSON object such as `{"value": 1.5}` per line.
+     * The body is inserted in a single transaction, so a malformed line rejects all of it.
+     *
+     * @param kind The kind of the items, `countable` or `uncountable`.
+     * @param request The request whose body is streamed into the database.
+     * @return The {@link ItemIngestResult} with the number of inserted items.
+     */
+    @Operation(summary = "Ingest items from NDJSON", description = "Inserts one item per line of an NDJSON body.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Items successfully inserted"),
+            @ApiResponse(responseCode = "400", description = "Malformed line; no items inserted"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(
+            value = "/{kind:countable|uncountable}/bulk",
+            consumes = APPLICATION_NDJSON_VALUE,
+            produces = APPLICATION_JSON_VALUE
+    )
+    @ResponseStatus(HttpStatus.CREATED)
+    @Transactional
+    public ItemIngestResult ingestNdjson(
+            @Parameter(description = "The kind of the items", required = true)
+            @PathVariable String kind,
+            HttpServletRequest request
+    ) throws IOException {
+        return ingest(kind, ItemFormat.NDJSON, request);
+    }
+
+    /**
+     * Computes aggregates over the values of all items of one kind, or of those within an id range.
+     *
+     * @param kind The kind of items, `countable` or `uncountable`.
+     * @param fromId The lowest id included; unbounded if absent.
+     * @param toId The id after the highest id included; unbounded if absent.
+     * @return The {@link ItemStatistics} of the values.
+     */
+    @Operation(
+            summary = "Get item statistics",
+            description = "Computes the count, sum, minimum, maximum and average value of all items of one kind."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully computed statistics"),
+            @ApiResponse(responseCode = "400", description = "Invalid id range"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/{kind:countable|uncountable}/statistics", produces = APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public ItemStatistics getStatistics(
+            @Parameter(description = "The kind of items", required = true)
+            @PathVariable String kind,
+            @Parameter(description = "Lowest id included; unbounded if absent")
+            @RequestParam(required = false) Long fromId,
+            @Parameter(description = "Id after the highest id included; unbounded if absent")
+            @RequestParam(required = false) Long toId
+    ) {
+        return handled(() -> itemAggregationService.statistics(kind(kind), fromId, toId));
+    }
+
+    /**
+     * Retrieves the running count and sum of the values of all items of one kind.
+     * Unlike {@link #getStatistics(String, Long, Long)}, the total is kept up to date in memory and never queries the
+     * database.
+     *
+     * @param kind The kind of items, `countable` or `uncountable`.
+     * @return The {@link ItemTotal} of the kind.
+     */
+    @Operation(
+            summary = "Get item total",
+            description = "Returns the count and sum of the values of all items of one kind, maintained in memory."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved total"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/{kind:countable|uncountable}/total", produces = APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public ItemTotal getTotal(
+            @Parameter(description = "The kind of items", required = true)
+            @PathVariable String kind
+    ) {
+        return itemService.total(kind(kind));
+    }
+
+    /**
+     * Computes a histogram of the values of all items of one kind.
+     *
+     * @param kind The kind of items, `countable` or `uncountable`.
+     * @param buckets The number of equal-width buckets.
+     * @param min The lower bound of the first bucket; defaults to the lowest value.
+     * @param max The upper bound of the last bucket; defaults to the highest value.
+     * @return The {@link ItemHistogramBucket} objects in ascending order.
+     */
+    @Operation(
+            summary = "Get item histogram",
+            description = "Counts the items of one kind whose values fall into each of equal-width buckets."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully computed histogram"),
+            @ApiResponse(responseCode = "400", description = "Invalid number of buckets or bounds"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/{kind:countable|uncountable}/histogram", produces = APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public List<ItemHistogramBucket> getHistogram(
+            @Parameter(description = "The kind of items", required = true)
+            @PathVariable String kind,
+            @Parameter(description = "Number of equal-width buckets")
+            @RequestParam(defaultValue = "10") int buckets,
+            @Parameter(description = "Lower bound of the first bucket; defaults to the lowest value")
+            @RequestParam(required = false) Double min,
+            @Parameter(description = "Upper bound of the last bucket; defaults to the highest value")
+            @RequestParam(required = false) Double max
+    ) {
+        try {
+            return itemAggregationService.histogram(kind(kind), buckets, min, max);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    private ItemIngestResult ingest(String kind, ItemFormat format, HttpServletRequest request) throws IOException {
+        try {
+            return itemService.ingest(kind(kind), format, request.getInputStream());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Helper method mapping invalid values to `400 Bad Request` and missing items to `404 Not Found`.
+     */
+    private static <T> T handled(@NotNull Supplier<T> action) {
+        try {
+            return action.get();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (NoSuchElementException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        }
+    }
+
+    private static ItemKind kind(String kind) {
+        return ItemKind.valueOf(kind.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,67 @@
+package pl.example.spring;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import pl.example.spring.api.TokenRequest;
+import pl.example.spring.api.TokenResponse;
+import pl.example.spring.security.TokenService;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * REST controller exchanging user credentials for signed access tokens.
+ * Only available when token authentication is enabled with `security.token.enabled`.
+ */
+@AllArgsConstructor
+@RestController
+@RequestMapping("/api/auth")
+@ConditionalOnProperty(name = "security.token.enabled", havingValue = "true")
+@Tag(name = "Authentication API", description = "API for obtaining access tokens")
+public class TokenController {
+    private final AuthenticationManager authenticationManager;
+    private final TokenService tokenService;
+
+    /**
+     * Verifies the given credentials and issues an access token for them.
+     *
+     * @param request The {@link TokenRequest} containing the username and password.
+     * @return The issued {@link TokenResponse}.
+     */
+    @Operation(
+            summary = "Obtain an access token",
+            description = "Exchanges a username and password for a token to send as `Authorization: Bearer`."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Token successfully issued"),
+            @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping(value = "/token", produces = APPLICATION_JSON_VALUE)
+    public TokenResponse issueToken(
+            @Parameter(description = "Credentials of the user", required = true)
+            @Valid @RequestBody TokenRequest request
+    ) {
+        try {
+            var authentication = authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(request.username(), request.password()));
+            return new TokenResponse(tokenService.issue(authentication), "Bearer", tokenService.timeToLiveSeconds());
+        } catch (AuthenticationException e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials", e);
+        }
+    }
+}
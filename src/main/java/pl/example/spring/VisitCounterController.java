@@ -3,6 +3,7 @@ package pl.example.spring;
 import lombok.AllArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
+import pl.example.spring.api.VisitStats;
 import pl.example.spring.metrics.MetricService;
 
 @AllArgsConstructor
@@ -15,4 +16,9 @@ public class VisitCounterController {
     public double getVisitCount() {
         return metricService.getResult();
     }
+
+    @GetMapping("/metrics/page/rates")
+    public VisitStats getVisitStats() {
+        return metricService.getStats();
+    }
 }
@@ -0,0 +1,64 @@
+package pl.example.spring.api;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents the outcome of creating a single client within a batch request.
+ * Results are returned in the same order as the clients in the request, and `index` points at the corresponding
+ * request item.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *     <li>`index`: The position of the client in the batch request.</li>
+ *     <li>`status`: Whether the client was created, rejected by validation, or failed to be stored.</li>
+ *     <li>`id`: The identifier of the created client, or null if it was not created.</li>
+ *     <li>`message`: The reason why the client was not created, or null if it was.</li>
+ * </ul>
+ */
+public record ClientBatchItemResult(
+        /**
+         * The position of the client in the batch request.
+         */
+        int index,
+
+        /**
+         * The outcome of creating the client.
+         */
+        Status status,
+
+        /**
+         * The unique identifier of the created client.
+         * This field is null unless the client was created.
+         */
+        @Nullable
+        Long id,
+
+        /**
+         * The reason why the client was not created.
+         * This field is null if the client was created.
+         */
+        @Nullable
+        String message) {
+
+    /**
+     * Possible outcomes of creating a client within a batch.
+     */
+    public enum Status {
+        CREATED,
+        INVALID,
+        FAILED
+    }
+
+    public static @NotNull ClientBatchItemResult created(int index, long id) {
+        return new ClientBatchItemResult(index, Status.CREATED, id, null);
+    }
+
+    public static @NotNull ClientBatchItemResult invalid(int index, @NotNull String message) {
+        return new ClientBatchItemResult(index, Status.INVALID, null, message);
+    }
+
+    public static @NotNull ClientBatchItemResult failed(int index, @NotNull String message) {
+        return new ClientBatchItemResult(index, Status.FAILED, null, message);
+    }
+}
@@ -0,0 +1,64 @@
+package pl.example.spring.api;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents the state of a client write accepted for asynchronous processing.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *     <li>`operationId`: The identifier under which the state of the write can be looked up.</li>
+ *     <li>`state`: Whether the write is still queued, was committed, or failed.</li>
+ *     <li>`clientId`: The identifier of the written client; for a creation, known once it is committed.</li>
+ *     <li>`message`: The reason why the write failed, or null if it did not.</li>
+ * </ul>
+ */
+public record ClientOperationStatus(
+        /**
+         * The identifier of the operation.
+         */
+        String operationId,
+
+        /**
+         * The state of the operation.
+         */
+        State state,
+
+        /**
+         * The unique identifier of the written client.
+         * This field is null for a creation that has not been committed.
+         */
+        @Nullable
+        Long clientId,
+
+        /**
+         * The reason why the write failed.
+         * This field is null unless the write failed.
+         */
+        @Nullable
+        String message) {
+
+    /**
+     * Possible states of an asynchronous write.
+     * Writes to the same client that are queued at the same time are committed together and share their outcome.
+     */
+    public enum State {
+        QUEUED,
+        COMMITTED,
+        FAILED
+    }
+
+    public static @NotNull ClientOperationStatus queued(@NotNull String operationId, @Nullable Long clientId) {
+        return new ClientOperationStatus(operationId, State.QUEUED, clientId, null);
+    }
+
+    public static @NotNull ClientOperationStatus committed(@NotNull String operationId, long clientId) {
+        return new ClientOperationStatus(operationId, State.COMMITTED, clientId, null);
+    }
+
+    public static @NotNull ClientOperationStatus failed(@NotNull String operationId, @Nullable Long clientId,
+                                                        @NotNull String message) {
+        return new ClientOperationStatus(operationId, State.FAILED, clientId, message);
+    }
+}
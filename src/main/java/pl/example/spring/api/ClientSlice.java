@@ -0,0 +1,44 @@
+package pl.example.spring.api;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Represents a single slice of keyset-paginated, abbreviated client data.
+ * Unlike a page, a slice does not know its position in the whole list; it only carries an opaque cursor pointing
+ * to the next slice.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *     <li>`content`: The clients in this slice.</li>
+ *     <li>`next`: Opaque cursor to pass as `after` to fetch the next slice, or null if this is the last slice.</li>
+ *     <li>`hasNext`: Whether there is a slice after this one.</li>
+ *     <li>`totalElements`: The total number of clients, or null if it was not requested.</li>
+ * </ul>
+ */
+public record ClientSlice(
+        /**
+         * The abbreviated data of the clients in this slice.
+         */
+        List<ClientResponse> content,
+
+        /**
+         * The cursor pointing to the next slice.
+         * This field is null if this is the last slice.
+         */
+        @Nullable
+        String next,
+
+        /**
+         * Whether there is a slice after this one.
+         */
+        boolean hasNext,
+
+        /**
+         * The total number of clients.
+         * This field is null unless the total was explicitly requested, as counting requires a full scan.
+         */
+        @Nullable
+        Long totalElements) {
+}
@@ -0,0 +1,26 @@
+package pl.example.spring.api;
+
+import pl.example.spring.client.Client;
+
+import java.util.List;
+
+/**
+ * Represents the result of looking up many clients by their identifiers at once.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *     <li>`clients`: The clients that were found, in the order in which their identifiers were requested.</li>
+ *     <li>`missing`: The requested identifiers for which no client exists, in request order.</li>
+ * </ul>
+ */
+public record ClientsByIdsResponse(
+        /**
+         * The clients that were found, in request order.
+         */
+        List<Client> clients,
+
+        /**
+         * The requested identifiers for which no client exists, in request order.
+         */
+        List<Long> missing) {
+}
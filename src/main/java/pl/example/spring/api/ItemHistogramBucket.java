@@ -0,0 +1,14 @@
+package pl.example.spring.api;
+
+/**
+ * Represents one bucket of a histogram of item values.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *     <li>`from`: The lowest value counted in the bucket.</li>
+ *     <li>`to`: The value at which the next bucket starts; the last bucket also counts values equal to it.</li>
+ *     <li>`count`: The number of items whose value falls into the bucket.</li>
+ * </ul>
+ */
+public record ItemHistogramBucket(double from, double to, long count) {
+}
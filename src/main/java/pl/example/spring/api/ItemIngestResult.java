@@ -0,0 +1,12 @@
+package pl.example.spring.api;
+
+/**
+ * Represents the outcome of a bulk ingestion of items.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *     <li>`rows`: The number of items inserted.</li>
+ * </ul>
+ */
+public record ItemIngestResult(long rows) {
+}
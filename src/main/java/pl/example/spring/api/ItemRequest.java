@@ -0,0 +1,16 @@
+package pl.example.spring.api;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+/**
+ * Represents the data of an item to create or update.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *     <li>`value`: The value of the item; a whole number for countable items.</li>
+ * </ul>
+ */
+public record ItemRequest(@NotNull BigDecimal value) {
+}
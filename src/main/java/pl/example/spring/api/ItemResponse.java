@@ -0,0 +1,13 @@
+package pl.example.spring.api;
+
+/**
+ * Represents a stored item.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *     <li>`id`: The unique identifier of the item within its kind.</li>
+ *     <li>`value`: The value of the item; a whole number for countable items.</li>
+ * </ul>
+ */
+public record ItemResponse(long id, Number value) {
+}
@@ -0,0 +1,23 @@
+package pl.example.spring.api;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents aggregates over the values of all items of one kind.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *     <li>`count`: The number of items.</li>
+ *     <li>`sum`, `min`, `max`: The total, lowest and highest value; whole numbers for countable items. Null when there
+ *     are no items, except `sum`, which is then zero. The sum of countable items is exact, even beyond the range of
+ *     a 64-bit integer.</li>
+ *     <li>`average`: The mean value, or null when there are no items.</li>
+ * </ul>
+ */
+public record ItemStatistics(
+        long count,
+        Number sum,
+        @Nullable Number min,
+        @Nullable Number max,
+        @Nullable Double average) {
+}
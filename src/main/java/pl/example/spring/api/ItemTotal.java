@@ -0,0 +1,13 @@
+package pl.example.spring.api;
+
+/**
+ * Represents the running total of all items of one kind.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *     <li>`count`: The number of items.</li>
+ *     <li>`sum`: The sum of the values; a whole number for countable items.</li>
+ * </ul>
+ */
+public record ItemTotal(long count, Number sum) {
+}
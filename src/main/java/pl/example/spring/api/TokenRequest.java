@@ -0,0 +1,28 @@
+package pl.example.spring.api;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Represents the credentials exchanged for an access token.
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * {
+ *   "username": "user",
+ *   "password": "password"
+ * }
+ * </pre>
+ */
+public record TokenRequest(
+        /**
+         * The name of the user.
+         */
+        @NotBlank(message = "Username cannot be blank")
+        String username,
+
+        /**
+         * The password of the user.
+         */
+        @NotBlank(message = "Password cannot be blank")
+        String password) {
+}
@@ -0,0 +1,28 @@
+package pl.example.spring.api;
+
+/**
+ * Represents an issued access token.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *     <li>`accessToken`: The token to send in the `Authorization: Bearer` header.</li>
+ *     <li>`tokenType`: Always `Bearer`.</li>
+ *     <li>`expiresIn`: How many seconds the token is valid.</li>
+ * </ul>
+ */
+public record TokenResponse(
+        /**
+         * The token to send in the `Authorization: Bearer` header.
+         */
+        String accessToken,
+
+        /**
+         * The type of the token, always `Bearer`.
+         */
+        String tokenType,
+
+        /**
+         * How many seconds the token is valid.
+         */
+        long expiresIn) {
+}
@@ -0,0 +1,28 @@
+package pl.example.spring.api;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents the page visits counted by one node, with its recent visit rates.
+ *
+ * <p>Fields:</p>
+ * <ul>
+ *     <li>`total`: All visits ever counted by the node, including those not yet stored in the database.</li>
+ *     <li>`perSecond`: Visits during the last full second.</li>
+ *     <li>`perSecondLastMinute`: Average visits per second over the last minute.</li>
+ *     <li>`perSecondLastHour`: Average visits per second over roughly the last hour.</li>
+ *     <li>`lastMinute`, `lastHour`, `lastDay`: Visits during the last minute, hour and day.</li>
+ *     <li>`minuteTrend`: Relative change of the last minute against the minute before it, e.g. `0.5` for 50% more
+ *     visits, or null when there were no visits in the minute before.</li>
+ * </ul>
+ */
+public record VisitStats(
+        long total,
+        double perSecond,
+        double perSecondLastMinute,
+        double perSecondLastHour,
+        long lastMinute,
+        long lastHour,
+        long lastDay,
+        @Nullable Double minuteTrend) {
+}
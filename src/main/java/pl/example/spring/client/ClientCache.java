@@ -0,0 +1,166 @@
+package pl.example.spring.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Bounded, in-process read-through cache of {@link Client} entities keyed by their identifier.
+ * Entries are evicted by size and time to live, and hit, miss and eviction statistics are published to the
+ * {@link MeterRegistry} under the cache name `client`.
+ *
+ * <p>Names are resolved to identifiers through a second index, published as `client-name`. An index entry is only
+ * trusted while the client it points to is cached under that name, so a renamed or deleted client is never found by
+ * its old name.</p>
+ *
+ * <p>Writes go through {@link #write(long, Runnable)}, which keeps the cache consistent with committed data:</p>
+ * <ul>
+ *     <li>While a write to a client is in flight, reads of that client bypass the cache.</li>
+ *     <li>The entry is invalidated both before the write and after its transaction completes.</li>
+ *     <li>A value loaded concurrently with any write is not stored, so a read that raced a commit cannot put
+ *     stale data back into the cache.</li>
+ * </ul>
+ *
+ * <p>Cached clients are shared between callers and must not be modified.</p>
+ */
+@Component
+public class ClientCache {
+
+    private final Cache<Long, Client> cache;
+    private final Cache<String, Long> ids;
+    private final Map<Long, Integer> pendingWrites = new ConcurrentHashMap<>();
+    private final AtomicLong writeCount = new AtomicLong();
+
+    public ClientCache(ClientCacheProperties properties, MeterRegistry registry) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.timeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "client");
+        ids = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.timeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, ids, "client-name");
+    }
+
+    /**
+     * Retrieves a client from the cache, loading and caching it on a miss.
+     *
+     * @param id The unique identifier of the client.
+     * @param loader Function loading the client from the database.
+     * @return An {@link Optional} containing the {@link Client} if found, or empty otherwise.
+     */
+    public @NotNull Optional<Client> get(long id, @NotNull LongFunction<Optional<Client>> loader) {
+        long writesBefore = writeCount.get();
+        if (pendingWrites.containsKey(id)) {
+            return loader.apply(id);
+        }
+        var cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        var loaded = loader.apply(id);
+        loaded.ifPresent(client -> store(client, writesBefore));
+        return loaded;
+    }
+
+    /**
+     * Retrieves a client by name from the cache, loading and caching it on a miss.
+     *
+     * @param name The unique name of the client.
+     * @param loader Function loading the client by name from the database.
+     * @return An {@link Optional} containing the {@link Client} if found, or empty otherwise.
+     */
+    public @NotNull Optional<Client> getByName(@NotNull String name,
+                                               @NotNull Function<String, Optional<Client>> loader) {
+        long writesBefore = writeCount.get();
+        var id = ids.getIfPresent(name);
+        if (id != null) {
+            var cached = getIfPresent(id).filter(client -> client.getName().equals(name));
+            if (cached.isPresent()) {
+                return cached;
+            }
+        }
+        var loaded = loader.apply(name);
+        loaded.ifPresent(client -> store(client, writesBefore));
+        return loaded;
+    }
+
+    /**
+     * Retrieves a client from the cache without loading it.
+     *
+     * @param id The unique identifier of the client.
+     * @return An {@link Optional} containing the cached {@link Client}, or empty if it is not cached or being written.
+     */
+    public @NotNull Optional<Client> getIfPresent(long id) {
+        if (pendingWrites.containsKey(id)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    /**
+     * Performs a write to a client and invalidates its cache entry.
+     * If a transaction is active, the entry is invalidated again once the transaction completes, and reads bypass
+     * the cache until then.
+     *
+     * @param id The unique identifier of the client being written.
+     * @param write The write operation.
+     */
+    public void write(long id, @NotNull Runnable write) {
+        pendingWrites.merge(id, 1, Integer::sum);
+        invalidate(id);
+        try {
+            write.run();
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        completeWrite(id);
+                    }
+                });
+            } else {
+                completeWrite(id);
+            }
+        }
+    }
+
+    private void completeWrite(long id) {
+        invalidate(id);
+        pendingWrites.computeIfPresent(id, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    private void store(Client client, long writesBefore) {
+        cache.asMap().compute(client.getId(), (key, current) -> {
+            if (writeCount.get() != writesBefore) {
+                return current;
+            }
+            ids.put(client.getName(), key);
+            return client;
+        });
+    }
+
+    private void invalidate(long id) {
+        writeCount.incrementAndGet();
+        var cached = cache.asMap().remove(id);
+        if (cached != null) {
+            ids.invalidate(cached.getName());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package pl.example.spring.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the in-process {@link ClientCache}, bound from the `client.cache` prefix.
+ *
+ * @param maximumSize The maximum number of clients kept in the cache.
+ * @param timeToLive How long a client stays in the cache after it was loaded.
+ */
+@ConfigurationProperties("client.cache")
+public record ClientCacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("5m") Duration timeToLive
+) {
+}
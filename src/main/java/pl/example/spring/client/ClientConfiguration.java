@@ -1,6 +1,7 @@
 package pl.example.spring.client;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
@@ -14,10 +15,12 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
  * <ul>
  *     <li>Enables JPA repositories for the {@link ClientRepositorySql} class.</li>
  *     <li>Conditionally imports the {@link ClientServiceImpl} class if no `ClientService` bean is present.</li>
+ *     <li>Binds the {@link ClientCacheProperties} used by the {@link ClientCache}.</li>
  * </ul>
  */
 @Configuration
 @EnableJpaRepositories(basePackageClasses = { ClientRepositorySql.class })
+@EnableConfigurationProperties(ClientCacheProperties.class)
 public class ClientConfiguration {
 
     /**
@@ -0,0 +1,102 @@
+package pl.example.spring.client;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static java.lang.String.format;
+
+/**
+ * Represents a position in a keyset-paginated list of clients.
+ * A cursor holds the sort key and direction together with the sort value and identifier of the last returned client,
+ * so the next slice can be found with an index seek instead of skipping rows with OFFSET.
+ *
+ * <p>Cursors are handed out to API consumers as opaque, URL-safe tokens created by {@link #encode()} and read back
+ * with {@link #decode(String)}.</p>
+ *
+ * @param sortKey The key by which clients are ordered.
+ * @param direction The direction in which clients are ordered.
+ * @param id The identifier of the last returned client, or null for the first slice.
+ * @param name The name of the last returned client; only used when ordering by {@link ClientSortKey#NAME}.
+ */
+public record ClientCursor(
+        @NotNull ClientSortKey sortKey,
+        @NotNull Sort.Direction direction,
+        @Nullable Long id,
+        @Nullable String name
+) {
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Creates a cursor pointing at the beginning of the list.
+     *
+     * @param sortKey The key by which clients are ordered.
+     * @param direction The direction in which clients are ordered.
+     * @return A cursor for the first slice.
+     */
+    public static @NotNull ClientCursor first(@NotNull ClientSortKey sortKey, @NotNull Sort.Direction direction) {
+        return new ClientCursor(sortKey, direction, null, null);
+    }
+
+    /**
+     * Checks whether this cursor points at the beginning of the list.
+     *
+     * @return true if no client has been returned yet, false otherwise.
+     */
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    /**
+     * Creates a cursor with the same ordering, pointing just after the given client.
+     *
+     * @param id The identifier of the last returned client.
+     * @param name The name of the last returned client.
+     * @return A cursor for the slice following the given client.
+     */
+    public @NotNull ClientCursor after(long id, @NotNull String name) {
+        return new ClientCursor(sortKey, direction, id, sortKey == ClientSortKey.NAME ? name : null);
+    }
+
+    /**
+     * Encodes this cursor into an opaque, URL-safe token.
+     *
+     * @return The token representing this cursor.
+     */
+    public @NotNull String encode() {
+        String raw = String.join(SEPARATOR,
+                sortKey.name(),
+                direction.name(),
+                id == null ? "" : id.toString(),
+                name == null ? "" : name);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token created by {@link #encode()}.
+     *
+     * @param token The token to decode.
+     * @return The cursor represented by the token.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static @NotNull ClientCursor decode(@NotNull String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = raw.split(SEPARATOR, 4);
+        if (parts.length != 4 || parts[2].isEmpty()) {
+            throw new IllegalArgumentException(format("Malformed cursor: %s", token));
+        }
+        var sortKey = ClientSortKey.valueOf(parts[0]);
+        if (sortKey == ClientSortKey.NAME && parts[3].isEmpty()) {
+            throw new IllegalArgumentException(format("Malformed cursor: %s", token));
+        }
+        return new ClientCursor(
+                sortKey,
+                Sort.Direction.valueOf(parts[1]),
+                Long.parseLong(parts[2]),
+                sortKey == ClientSortKey.NAME ? parts[3] : null
+        );
+    }
+}
@@ -32,7 +32,7 @@ public interface ClientMapper {
 
     /**
      * Converts a {@link ClientAddRequest} DTO to a {@link Client} entity.
-     * The `id` field is ignored during mapping, and the `address` field is populated from the request.
+     * The `id` and `version` fields are ignored during mapping, and the `address` field is populated from the request.
      *
      * @param client The {@link ClientAddRequest} DTO to convert.
      * @return The corresponding {@link Client} entity.
@@ -40,6 +40,7 @@ public interface ClientMapper {
      */
     @Mappings({
             @Mapping(target = "id", ignore = true), // Ignore the ID field during mapping
+            @Mapping(target = "version", ignore = true), // Assigned by Hibernate on insert
             @Mapping(target = "address", source = "client"), // Map address fields from the request
     })
     Client toClient(@Valid ClientAddRequest client);
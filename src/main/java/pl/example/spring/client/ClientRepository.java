@@ -2,9 +2,12 @@ package pl.example.spring.client;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import pl.example.spring.api.ClientResponse;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Repository interface for managing {@link Client} entities.
@@ -24,6 +27,31 @@ public interface ClientRepository {
      */
     Optional<Client> findById(long id);
 
+    /**
+     * Retrieves the version of a client without loading the entity.
+     *
+     * @param id The unique identifier of the client.
+     * @return An {@link Optional} containing the version of the client if found, or empty otherwise.
+     */
+    Optional<Long> findVersionById(long id);
+
+    /**
+     * Retrieves a client by their unique name.
+     *
+     * @param name The name of the client.
+     * @return An {@link Optional} containing the {@link Client} if found, or empty otherwise.
+     */
+    Optional<Client> findByName(String name);
+
+    /**
+     * Retrieves the clients with the given identifiers using a single `IN` query.
+     * Identifiers without a matching client are skipped, and the order of the result is unspecified.
+     *
+     * @param ids The unique identifiers of the clients.
+     * @return A {@link List} of the {@link Client} entities found.
+     */
+    List<Client> findAllById(Iterable<Long> ids);
+
     /**
      * Retrieves a list of all clients.
      *
@@ -39,6 +67,42 @@ public interface ClientRepository {
      */
     Page<Client> findAll(Pageable pageable);
 
+    /**
+     * Retrieves a paginated list of abbreviated client data.
+     * Only the columns needed for a {@link ClientResponse} are selected, and no entities are loaded into the
+     * persistence context.
+     *
+     * @param pageable Pagination information (e.g., page number, page size).
+     * @return A {@link Page} of {@link ClientResponse} objects.
+     */
+    Page<ClientResponse> findAllAbbreviated(Pageable pageable);
+
+    /**
+     * Passes every client to the given action one at a time, without materializing the whole table in memory.
+     * Clients are read through a database cursor and are not kept in the persistence context after the action returns.
+     *
+     * @param fetchSize Number of rows fetched from the database per round-trip.
+     * @param action The action to invoke for each {@link Client}.
+     */
+    void forEachClient(int fetchSize, Consumer<Client> action);
+
+    /**
+     * Retrieves abbreviated data of the clients following the given cursor, using keyset (seek) pagination.
+     * The cost of this query does not depend on how far into the list the cursor points.
+     *
+     * @param cursor The position after which clients are returned, together with their ordering.
+     * @param limit The maximum number of clients to return.
+     * @return A {@link List} of at most {@code limit} {@link ClientResponse} objects, in cursor order.
+     */
+    List<ClientResponse> findAfter(ClientCursor cursor, int limit);
+
+    /**
+     * Counts all clients.
+     *
+     * @return The total number of clients.
+     */
+    long count();
+
     /**
      * Deletes a client from the database.
      *
@@ -46,6 +110,35 @@ public interface ClientRepository {
      */
     void delete(Client client);
 
+    /**
+     * Deletes a client by their unique identifier with a single statement, without loading the entity first.
+     *
+     * @param id The unique identifier of the client to delete.
+     * @return The number of deleted clients; 0 if no client has the provided ID.
+     */
+    int deleteClientById(long id);
+
+    /**
+     * Changes the name of a client with a single statement, without loading the entity first.
+     * The version of the client is incremented.
+     *
+     * @param id The unique identifier of the client to update.
+     * @param name The new name to assign to the client.
+     * @return The number of updated clients; 0 if no client has the provided ID.
+     */
+    int updateNameById(long id, String name);
+
+    /**
+     * Changes the name of a client with a single statement, provided that the client still has the given version.
+     * The version of the client is incremented.
+     *
+     * @param id The unique identifier of the client to update.
+     * @param version The version the client is expected to have.
+     * @param name The new name to assign to the client.
+     * @return The number of updated clients; 0 if no client has the provided ID and version.
+     */
+    int updateNameByIdAndVersion(long id, long version, String name);
+
     /**
      * Saves a client to the database.
      *
@@ -54,6 +147,23 @@ public interface ClientRepository {
      */
     Client save(Client client);
 
+    /**
+     * Inserts new clients in a single transaction, sending the inserts to the database in JDBC batches.
+     * The persistence context is cleared afterwards, so the returned clients are detached.
+     *
+     * @param clients The new {@link Client} entities to insert.
+     * @return The inserted {@link Client} entities, with their identifiers assigned.
+     */
+    List<Client> insertAll(List<Client> clients);
+
+    /**
+     * Retrieves those of the given names that already belong to a client.
+     *
+     * @param names The client names to check.
+     * @return A {@link List} of the names that are already taken.
+     */
+    List<String> findExistingNames(Collection<String> names);
+
     /**
      * Flushes all pending changes to the database.
      * This method ensures that any changes made to the entities are immediately written to the database.
@@ -0,0 +1,54 @@
+package pl.example.spring.client;
+
+import org.jetbrains.annotations.NotNull;
+import pl.example.spring.api.ClientResponse;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Fragment interface for {@link ClientRepositorySql} queries that cannot be expressed with Spring Data derived
+ * or annotated query methods.
+ *
+ * <p>Spring Data detects {@link ClientRepositoryCustomImpl} by its `Impl` suffix and merges it into the repository
+ * proxy, so the methods declared here are backed by hand-written Hibernate code.</p>
+ */
+public interface ClientRepositoryCustom {
+
+    /**
+     * Passes every client to the given action, reading them through a forward-only database cursor.
+     *
+     * @param fetchSize Number of rows fetched from the database per round-trip.
+     * @param action The action to invoke for each {@link Client}.
+     */
+    void forEachClient(int fetchSize, @NotNull Consumer<Client> action);
+
+    /**
+     * Retrieves abbreviated data of the clients following the given cursor, using keyset (seek) pagination.
+     *
+     * @param cursor The position after which clients are returned, together with their ordering.
+     * @param limit The maximum number of clients to return.
+     * @return A {@link List} of at most {@code limit} {@link ClientResponse} objects, in cursor order.
+     */
+    @NotNull
+    List<ClientResponse> findAfter(@NotNull ClientCursor cursor, int limit);
+
+    /**
+     * Retrieves a client by their name, which is the natural identifier of clients.
+     *
+     * @param name The name of the client.
+     * @return An {@link Optional} containing the {@link Client} if found, or empty otherwise.
+     */
+    @NotNull
+    Optional<Client> findByName(@NotNull String name);
+
+    /**
+     * Inserts new clients in a single transaction, sending the inserts to the database in JDBC batches.
+     *
+     * @param clients The new {@link Client} entities to insert.
+     * @return The inserted {@link Client} entities, with their identifiers assigned.
+     */
+    @NotNull
+    List<Client> insertAll(@NotNull List<Client> clients);
+}
@@ -0,0 +1,128 @@
+package pl.example.spring.client;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.transaction.annotation.Transactional;
+import pl.example.spring.api.ClientResponse;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Hibernate-based implementation of {@link ClientRepositoryCustom}.
+ * This class is picked up by Spring Data as the implementation of the custom fragment of {@link ClientRepositorySql}.
+ */
+public class ClientRepositoryCustomImpl implements ClientRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Scrolls over the `client` table with a forward-only cursor.
+     * Entities are loaded read-only and detached right after the action returns, so the persistence context never
+     * holds more than a single client regardless of the table size.
+     *
+     * @param fetchSize Number of rows fetched from the database per round-trip.
+     * @param action The action to invoke for each {@link Client}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachClient(int fetchSize, @NotNull Consumer<Client> action) {
+        Session session = entityManager.unwrap(Session.class);
+        try (ScrollableResults<Client> results = session
+                .createSelectionQuery("from Client c order by c.id", Client.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                Client client = results.get();
+                action.accept(client);
+                session.detach(client);
+            }
+        }
+    }
+
+    /**
+     * Seeks past the cursor position with a `WHERE` condition on the sort key and identifier, instead of an `OFFSET`.
+     * Both sort keys are unique and indexed, so every slice is a bounded index range scan. Only the columns of
+     * {@link ClientResponse} are selected, without loading managed entities.
+     *
+     * @param cursor The position after which clients are returned, together with their ordering.
+     * @param limit The maximum number of clients to return.
+     * @return A {@link List} of at most {@code limit} {@link ClientResponse} objects, in cursor order.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public @NotNull List<ClientResponse> findAfter(@NotNull ClientCursor cursor, int limit) {
+        String property = "c." + cursor.sortKey().getProperty();
+        String comparison = cursor.direction().isAscending() ? ">" : "<";
+        String order = cursor.direction().isAscending() ? "asc" : "desc";
+
+        var hql = new StringBuilder(
+                "select new pl.example.spring.api.ClientResponse(c.id, c.name, c.mail, c.address.city) from Client c");
+        if (!cursor.isFirst()) {
+            if (cursor.sortKey() == ClientSortKey.ID) {
+                hql.append(" where c.id ").append(comparison).append(" :id");
+            } else {
+                hql.append(" where ").append(property).append(' ').append(comparison).append(" :value")
+                        .append(" or (").append(property).append(" = :value and c.id ").append(comparison)
+                        .append(" :id)");
+            }
+        }
+        hql.append(" order by ").append(property).append(' ').append(order);
+        if (cursor.sortKey() != ClientSortKey.ID) {
+            hql.append(", c.id ").append(order);
+        }
+
+        TypedQuery<ClientResponse> query = entityManager.createQuery(hql.toString(), ClientResponse.class)
+                .setMaxResults(limit);
+        if (!cursor.isFirst()) {
+            query.setParameter("id", cursor.id());
+            if (cursor.sortKey() != ClientSortKey.ID) {
+                query.setParameter("value", cursor.name());
+            }
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Loads a client through Hibernate's natural-id API instead of a query.
+     * A client already in the persistence context is returned without a statement; otherwise it is selected by the
+     * unique name index.
+     *
+     * @param name The name of the client.
+     * @return An {@link Optional} containing the {@link Client} if found, or empty otherwise.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public @NotNull Optional<Client> findByName(@NotNull String name) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Client.class)
+                .loadOptional(name);
+    }
+
+    /**
+     * Persists all clients and flushes them at once, so Hibernate groups the inserts into JDBC batches of
+     * `hibernate.jdbc.batch_size`. Identifiers come from the pooled `client_seq` sequence, which does not force an
+     * immediate insert per entity. The persistence context is cleared afterwards to keep memory flat across chunks.
+     *
+     * @param clients The new {@link Client} entities to insert.
+     * @return The inserted {@link Client} entities, with their identifiers assigned.
+     */
+    @Override
+    @Transactional
+    public @NotNull List<Client> insertAll(@NotNull List<Client> clients) {
+        clients.forEach(entityManager::persist);
+        entityManager.flush();
+        entityManager.clear();
+        return clients;
+    }
+}
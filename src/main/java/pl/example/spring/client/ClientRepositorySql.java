@@ -1,6 +1,17 @@
 package pl.example.spring.client;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import pl.example.spring.api.ClientResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Spring Data JPA repository interface for managing {@link Client} entities.
@@ -12,6 +23,85 @@ import org.springframework.data.jpa.repository.JpaRepository;
  *
  * <p>This repository is specifically designed for PostgreSQL, as indicated by the `Sql` suffix in the
  * interface name.
+ *
+ * <p>Queries that cannot be derived by Spring Data are implemented in {@link ClientRepositoryCustomImpl}; the
+ * {@link ClientRepositoryCustom} fragment has to be listed here directly for Spring Data to discover it.</p>
  */
-public interface ClientRepositorySql extends ClientRepository, JpaRepository<Client, Long> {
-}
\ No newline at end of file
+public interface ClientRepositorySql extends ClientRepository, ClientRepositoryCustom, JpaRepository<Client, Long> {
+
+    /**
+     * Selects the abbreviated client columns straight into {@link ClientResponse} records with a constructor
+     * expression, so no managed entities or dirty-checking snapshots are created.
+     *
+     * @param pageable Pagination information (e.g., page number, page size).
+     * @return A {@link Page} of {@link ClientResponse} objects.
+     */
+    @Override
+    @Query(
+            value = "select new pl.example.spring.api.ClientResponse(c.id, c.name, c.mail, c.address.city) "
+                    + "from Client c",
+            countQuery = "select count(c) from Client c"
+    )
+    Page<ClientResponse> findAllAbbreviated(Pageable pageable);
+
+    /**
+     * Selects only the version column of a client, using the primary key index.
+     *
+     * @param id The unique identifier of the client.
+     * @return An {@link Optional} containing the version of the client if found, or empty otherwise.
+     */
+    @Override
+    @Query("select c.version from Client c where c.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    /**
+     * Selects the names from the given collection that are already used by a client, using the unique name index.
+     *
+     * @param names The client names to check.
+     * @return A {@link List} of the names that are already taken.
+     */
+    @Override
+    @Query("select c.name from Client c where c.name in :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
+    /**
+     * Deletes a client with a single bulk `DELETE` statement.
+     *
+     * @param id The unique identifier of the client to delete.
+     * @return The number of deleted clients; 0 if no client has the provided ID.
+     */
+    @Override
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Client c where c.id = :id")
+    int deleteClientById(@Param("id") long id);
+
+    /**
+     * Changes the name of a client with a single bulk `UPDATE` statement.
+     * Bulk statements bypass Hibernate's version check, so the version is incremented explicitly.
+     *
+     * @param id The unique identifier of the client to update.
+     * @param name The new name to assign to the client.
+     * @return The number of updated clients; 0 if no client has the provided ID.
+     */
+    @Override
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Client c set c.name = :name, c.version = c.version + 1 where c.id = :id")
+    int updateNameById(@Param("id") long id, @Param("name") String name);
+
+    /**
+     * Changes the name of a client with a single bulk `UPDATE` statement that only matches the expected version.
+     *
+     * @param id The unique identifier of the client to update.
+     * @param version The version the client is expected to have.
+     * @param name The new name to assign to the client.
+     * @return The number of updated clients; 0 if no client has the provided ID and version.
+     */
+    @Override
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Client c set c.name = :name, c.version = c.version + 1 "
+            + "where c.id = :id and c.version = :version")
+    int updateNameByIdAndVersion(@Param("id") long id, @Param("version") long version, @Param("name") String name);
+}
@@ -4,13 +4,20 @@ import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import pl.example.spring.api.ClientAddRequest;
+import pl.example.spring.api.ClientBatchItemResult;
 import pl.example.spring.api.ClientResponse;
+import pl.example.spring.api.ClientSlice;
+import pl.example.spring.api.ClientsByIdsResponse;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing client-related operations.
@@ -29,6 +36,19 @@ public interface ClientService {
     @NotNull
     Page<ClientResponse> getAllAbbreviatedData(Pageable pageable);
 
+    /**
+     * Retrieves a slice of abbreviated client data using keyset (seek) pagination.
+     * Fetching a slice costs the same regardless of how deep into the list the cursor points.
+     *
+     * @param cursor The position after which clients are returned, together with their ordering.
+     * @param size The maximum number of clients in the slice.
+     * @param withTotal Whether to count all clients; counting requires a full scan, so it is off by default.
+     * @return A {@link ClientSlice} with {@link ClientResponse} objects and the cursor of the next slice.
+     * @throws IllegalArgumentException if the provided size is out of range.
+     */
+    @NotNull
+    ClientSlice getAbbreviatedDataSlice(@NotNull ClientCursor cursor, int size, boolean withTotal);
+
     /**
      * Retrieves a client by their unique identifier.
      *
@@ -39,6 +59,35 @@ public interface ClientService {
     @NotNull
     Client get(long id);
 
+    /**
+     * Retrieves a client by their unique name.
+     *
+     * @param name The name of the client.
+     * @return The {@link Client} object with the provided name.
+     * @throws java.util.NoSuchElementException if no client has the provided name.
+     */
+    @NotNull
+    Client getByName(@NotNull String name);
+
+    /**
+     * Retrieves the version of a client, without loading the whole client when it is not cached.
+     *
+     * @param id The unique identifier of the client.
+     * @return The current version of the client.
+     * @throws java.util.NoSuchElementException if no client is found with the provided ID.
+     */
+    long getVersion(long id);
+
+    /**
+     * Retrieves many clients by their unique identifiers at once.
+     *
+     * @param ids The unique identifiers of the clients; duplicates are ignored.
+     * @return A {@link ClientsByIdsResponse} with the clients found, in request order, and the identifiers not found.
+     * @throws IllegalArgumentException if too many identifiers are requested.
+     */
+    @NotNull
+    ClientsByIdsResponse getAll(@NotNull Collection<Long> ids);
+
     /**
      * Retrieves a paginated list of all clients.
      *
@@ -57,6 +106,15 @@ public interface ClientService {
     @NotNull
     List<Client> getAll();
 
+    /**
+     * Passes every client to the given action one by one.
+     * Unlike {@link #getAll()}, clients are streamed from the database, so memory usage does not grow with the number
+     * of clients.
+     *
+     * @param action The action to invoke for each {@link Client}.
+     */
+    void forEach(@NotNull Consumer<@NotNull Client> action);
+
     /**
      * Deletes a client by their unique identifier.
      *
@@ -69,10 +127,24 @@ public interface ClientService {
      * Creates a new client using the provided request data.
      *
      * @param client The {@link ClientAddRequest} object containing the client data to create.
+     * @return The created {@link Client}.
      * @throws IllegalArgumentException if the provided request data is invalid.
      * @throws ConstraintViolationException if the provided data violates validation constraints.
      */
-    void create(@Valid @NotNull ClientAddRequest client);
+    Client create(@Valid @NotNull ClientAddRequest client);
+
+    /**
+     * Creates many clients at once.
+     * Every client is validated on its own, and valid clients are inserted in chunks with JDBC batching. A client
+     * that is invalid or cannot be stored does not prevent the others from being created.
+     *
+     * @param clients The {@link ClientAddRequest} objects containing the data of the clients to create; null elements
+     *                are reported as invalid.
+     * @return A {@link List} of {@link ClientBatchItemResult} objects, one per requested client and in the same order.
+     * @throws IllegalArgumentException if the batch contains too many clients.
+     */
+    @NotNull
+    List<ClientBatchItemResult> createAll(@NotNull List<@Nullable ClientAddRequest> clients);
 
     /**
      * Updates an existing client's data using the provided request data.
@@ -84,6 +156,18 @@ public interface ClientService {
      */
     void edit(@Valid @NotNull ClientAddRequest client, long id);
 
+    /**
+     * Updates an existing client's data, provided that the client has the expected version.
+     *
+     * @param client The {@link ClientAddRequest} object containing the updated client data.
+     * @param id The unique identifier of the client to update.
+     * @param expectedVersion The version the client is expected to have, or null to update any version.
+     * @throws IllegalArgumentException if the provided ID or request data is invalid.
+     * @throws ConstraintViolationException if the provided data violates validation constraints.
+     * @throws OptimisticLockingFailureException if the client has a different version.
+     */
+    void edit(@Valid @NotNull ClientAddRequest client, long id, @Nullable Long expectedVersion);
+
     /**
      * Updates the name of an existing client.
      *
@@ -93,4 +177,16 @@ public interface ClientService {
      * @throws ConstraintViolationException if the provided name violates validation constraints.
      */
     void updateName(@NotBlank String name, long id);
+
+    /**
+     * Updates the name of an existing client, provided that the client has the expected version.
+     *
+     * @param name The new name to assign to the client.
+     * @param id The unique identifier of the client to update.
+     * @param expectedVersion The version the client is expected to have, or null to update any version.
+     * @throws IllegalArgumentException if the provided ID or name is invalid.
+     * @throws ConstraintViolationException if the provided name violates validation constraints.
+     * @throws OptimisticLockingFailureException if the client has a different version.
+     */
+    void updateName(@NotBlank String name, long id, @Nullable Long expectedVersion);
 }
@@ -1,19 +1,36 @@
 package pl.example.spring.client;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import pl.example.spring.api.ClientAddRequest;
+import pl.example.spring.api.ClientBatchItemResult;
 import pl.example.spring.api.ClientResponse;
+import pl.example.spring.api.ClientSlice;
+import pl.example.spring.api.ClientsByIdsResponse;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 
@@ -21,17 +38,53 @@ import static java.lang.String.format;
  * Implementation of the {@link ClientService} interface.
  * This class provides methods for managing client data, including retrieval, creation, updating, and deletion.
  * It uses a {@link ClientRepository} for database operations and a {@link ClientMapper} for mapping between DTOs and entities.
+ * Single clients are read through a {@link ClientCache}, which every write to a client invalidates.
+ * Every public method is timed as `client.service`, tagged with the method name and the exception it threw, if any.
  */
 @Slf4j
 @AllArgsConstructor
 @Service
+@Timed(value = "client.service", description = "Time spent in ClientService methods")
 public class ClientServiceImpl implements ClientService {
 
+    /**
+     * Number of rows fetched per database round-trip when streaming clients.
+     */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Maximum number of clients returned in a single keyset-paginated slice.
+     */
+    private static final int MAX_SLICE_SIZE = 1000;
+
+    /**
+     * Maximum number of clients accepted in a single batch creation request.
+     */
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    /**
+     * Number of clients inserted in a single transaction during batch creation.
+     */
+    private static final int BATCH_CHUNK_SIZE = 500;
+
+    /**
+     * Maximum number of clients that can be retrieved by identifiers in a single call.
+     */
+    private static final int MAX_IDS = 1000;
+
+    /**
+     * Maximum number of identifiers bound to a single `IN` query.
+     */
+    private static final int IN_QUERY_CHUNK_SIZE = 500;
+
     private final ClientRepository clientRepository;
     private final ClientMapper clientMapper;
+    private final ClientCache clientCache;
+    private final Validator validator;
 
     /**
      * Retrieves a paginated list of abbreviated client data.
+     * The data is projected by the repository directly into {@link ClientResponse} objects, without loading entities.
      *
      * @param pageable Pagination information (e.g., page number, page size).
      * @return A {@link Page} of {@link ClientResponse} objects containing abbreviated client data.
@@ -39,11 +92,39 @@ public class ClientServiceImpl implements ClientService {
      */
     @Override
     public @NotNull Page<@NotNull ClientResponse> getAllAbbreviatedData(Pageable pageable) {
-        return clientRepository.findAll(pageable).map(clientMapper::toResponse);
+        return clientRepository.findAllAbbreviated(pageable);
+    }
+
+    /**
+     * Retrieves a slice of abbreviated client data using keyset (seek) pagination.
+     * One row more than requested is fetched to find out whether a next slice exists, without a separate count.
+     *
+     * @param cursor The position after which clients are returned, together with their ordering.
+     * @param size The maximum number of clients in the slice.
+     * @param withTotal Whether to count all clients.
+     * @return A {@link ClientSlice} with {@link ClientResponse} objects and the cursor of the next slice.
+     * @throws IllegalArgumentException if the provided size is out of range.
+     */
+    @Override
+    public @NotNull ClientSlice getAbbreviatedDataSlice(@NotNull ClientCursor cursor, int size, boolean withTotal) {
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new IllegalArgumentException(format("Slice size must be between 1 and %d", MAX_SLICE_SIZE));
+        }
+        var clients = clientRepository.findAfter(cursor, size + 1);
+        var hasNext = clients.size() > size;
+        var content = hasNext ? clients.subList(0, size) : clients;
+        String next = null;
+        if (hasNext) {
+            var last = content.getLast();
+            next = cursor.after(last.id(), last.name()).encode();
+        }
+        return new ClientSlice(content, next, hasNext, withTotal ? clientRepository.count() : null);
     }
 
     /**
      * Retrieves a client by their unique identifier.
+     * The client is served from the {@link ClientCache} when possible; the returned instance may be shared and must
+     * not be modified.
      *
      * @param id The unique identifier of the client.
      * @return The {@link Client} object corresponding to the provided ID.
@@ -51,8 +132,80 @@ public class ClientServiceImpl implements ClientService {
      */
     @Override
     public @NotNull Client get(long id) {
-        return clientRepository.findById(id)
-                .orElseThrow(() -> new NoSuchElementException(format("Cannot find client with id: %d", id)));
+        return clientCache.get(id, clientRepository::findById)
+                .orElseThrow(() -> notFound(id));
+    }
+
+    /**
+     * Retrieves a client by their unique name.
+     * The client is served from the {@link ClientCache} when possible, like a lookup by ID; on a miss it is loaded
+     * through Hibernate's natural-id API. The returned instance may be shared and must not be modified.
+     *
+     * @param name The name of the client.
+     * @return The {@link Client} object with the provided name.
+     * @throws NoSuchElementException if no client has the provided name.
+     */
+    @Override
+    public @NotNull Client getByName(@NotNull String name) {
+        return clientCache.getByName(name, clientRepository::findByName)
+                .orElseThrow(() -> new NoSuchElementException(format("Cannot find client with name: %s", name)));
+    }
+
+    /**
+     * Retrieves the version of a client.
+     * The version is taken from the {@link ClientCache} when the client is cached, and otherwise selected alone,
+     * without loading the rest of the row.
+     *
+     * @param id The unique identifier of the client.
+     * @return The current version of the client.
+     * @throws NoSuchElementException if no client is found with the provided ID.
+     */
+    @Override
+    public long getVersion(long id) {
+        return clientCache.getIfPresent(id)
+                .map(Client::getVersion)
+                .or(() -> clientRepository.findVersionById(id))
+                .orElseThrow(() -> notFound(id));
+    }
+
+    /**
+     * Retrieves many clients by their unique identifiers at once.
+     * Clients present in the {@link ClientCache} are taken from it; the rest are loaded with `IN` queries of at most
+     * {@value #IN_QUERY_CHUNK_SIZE} identifiers each.
+     *
+     * @param ids The unique identifiers of the clients; duplicates and nulls are ignored.
+     * @return A {@link ClientsByIdsResponse} with the clients found, in request order, and the identifiers not found.
+     * @throws IllegalArgumentException if more than {@value #MAX_IDS} identifiers are requested.
+     */
+    @Override
+    public @NotNull ClientsByIdsResponse getAll(@NotNull Collection<Long> ids) {
+        var requested = new LinkedHashSet<Long>();
+        ids.stream().filter(Objects::nonNull).forEach(requested::add);
+        if (requested.size() > MAX_IDS) {
+            throw new IllegalArgumentException(format("Cannot retrieve more than %d clients at once", MAX_IDS));
+        }
+
+        var found = new HashMap<Long, Client>();
+        var toLoad = new ArrayList<Long>();
+        for (long id : requested) {
+            clientCache.getIfPresent(id).ifPresentOrElse(client -> found.put(id, client), () -> toLoad.add(id));
+        }
+        for (int from = 0; from < toLoad.size(); from += IN_QUERY_CHUNK_SIZE) {
+            clientRepository.findAllById(toLoad.subList(from, Math.min(from + IN_QUERY_CHUNK_SIZE, toLoad.size())))
+                    .forEach(client -> found.put(client.getId(), client));
+        }
+
+        var clients = new ArrayList<Client>(found.size());
+        var missing = new ArrayList<Long>();
+        for (long id : requested) {
+            var client = found.get(id);
+            if (client == null) {
+                missing.add(id);
+            } else {
+                clients.add(client);
+            }
+        }
+        return new ClientsByIdsResponse(clients, missing);
     }
 
     /**
@@ -77,29 +230,87 @@ public class ClientServiceImpl implements ClientService {
         return clientRepository.findAll();
     }
 
+    /**
+     * Passes every client to the given action one by one, reading them through a database cursor.
+     *
+     * @param action The action to invoke for each {@link Client}.
+     */
+    @Override
+    public void forEach(@NotNull Consumer<@NotNull Client> action) {
+        clientRepository.forEachClient(STREAM_FETCH_SIZE, action);
+    }
+
     /**
      * Deletes a client by their unique identifier.
+     * The client is deleted with a single statement; its absence is detected from the affected row count.
      *
      * @param id The unique identifier of the client to delete.
      * @throws NoSuchElementException if no client is found with the provided ID.
      */
     @Override
     public void delete(long id) {
-        clientRepository.delete(clientRepository.findById(id)
-                .orElseThrow(() -> new NoSuchElementException(format("Cannot find client with id: %d", id))));
-        clientRepository.flush();
+        clientCache.write(id, () -> {
+            if (clientRepository.deleteClientById(id) == 0) {
+                throw notFound(id);
+            }
+        });
     }
 
     /**
      * Creates a new client using the provided request data.
      *
      * @param client The {@link ClientAddRequest} object containing the client data to create.
+     * @return The created {@link Client}.
      * @throws IllegalArgumentException if the provided request data is invalid.
      * @throws ConstraintViolationException if the provided data violates validation constraints.
      */
     @Override
-    public void create(@NotNull ClientAddRequest client) {
-        clientRepository.saveAndFlush(clientMapper.toClient(client));
+    public Client create(@NotNull ClientAddRequest client) {
+        return clientRepository.saveAndFlush(clientMapper.toClient(client));
+    }
+
+    /**
+     * Creates many clients at once.
+     * Clients are validated one by one, including name uniqueness within the batch and against the database. Valid
+     * clients are inserted in chunks of {@value #BATCH_CHUNK_SIZE}, each in its own transaction. If a chunk fails
+     * (e.g. because a name was taken concurrently), its clients are retried one by one to find the failing ones.
+     *
+     * @param requests The {@link ClientAddRequest} objects containing the data of the clients to create; null elements
+     *                 are reported as invalid.
+     * @return A {@link List} of {@link ClientBatchItemResult} objects, one per requested client and in the same order.
+     * @throws IllegalArgumentException if the batch contains more than {@value #MAX_BATCH_SIZE} clients.
+     */
+    @Override
+    public @NotNull List<@NotNull ClientBatchItemResult> createAll(@NotNull List<@Nullable ClientAddRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(format("Batch cannot contain more than %d clients", MAX_BATCH_SIZE));
+        }
+        var results = new ClientBatchItemResult[requests.size()];
+        var names = new HashSet<String>();
+        var valid = new ArrayList<Integer>();
+        for (int index = 0; index < requests.size(); index++) {
+            var request = requests.get(index);
+            if (request == null) {
+                results[index] = ClientBatchItemResult.invalid(index, "Client must not be null");
+                continue;
+            }
+            var violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results[index] = ClientBatchItemResult.invalid(index, violations.stream()
+                        .map(it -> it.getPropertyPath() + ": " + it.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            } else if (!names.add(request.name())) {
+                results[index] = ClientBatchItemResult.invalid(index,
+                        format("Duplicate client name in batch: %s", request.name()));
+            } else {
+                valid.add(index);
+            }
+        }
+        for (int from = 0; from < valid.size(); from += BATCH_CHUNK_SIZE) {
+            createChunk(requests, valid.subList(from, Math.min(from + BATCH_CHUNK_SIZE, valid.size())), results);
+        }
+        return List.of(results);
     }
 
     /**
@@ -113,12 +324,34 @@ public class ClientServiceImpl implements ClientService {
      */
     @Override
     public void edit(@Valid @NotNull ClientAddRequest request, long id) {
-        Client client = get(id);
-        editClient(request, client);
+        edit(request, id, null);
+    }
+
+    /**
+     * Updates an existing client's data, provided that the client has the expected version.
+     * The version is compared with the loaded client, and checked again by Hibernate when the update is flushed.
+     *
+     * @param request The {@link ClientAddRequest} object containing the updated client data.
+     * @param id The unique identifier of the client to update.
+     * @param expectedVersion The version the client is expected to have, or null to update any version.
+     * @throws NoSuchElementException if no client is found with the provided ID.
+     * @throws OptimisticLockingFailureException if the client has a different version.
+     * @throws ConstraintViolationException if the provided data violates validation constraints.
+     */
+    @Override
+    public void edit(@Valid @NotNull ClientAddRequest request, long id, @Nullable Long expectedVersion) {
+        clientCache.write(id, () -> {
+            var client = clientRepository.findById(id).orElseThrow(() -> notFound(id));
+            if (expectedVersion != null && client.getVersion() != expectedVersion) {
+                throw versionMismatch(id);
+            }
+            editClient(request, client);
+        });
     }
 
     /**
      * Updates the name of an existing client.
+     * The name is changed with a single statement; the client's absence is detected from the affected row count.
      *
      * @param name The new name to assign to the client.
      * @param id The unique identifier of the client to update.
@@ -127,9 +360,31 @@ public class ClientServiceImpl implements ClientService {
      */
     @Override
     public void updateName(@NotBlank String name, long id) {
-        Client client = get(id);
-        client.setName(name);
-        clientRepository.save(client);
+        updateName(name, id, null);
+    }
+
+    /**
+     * Updates the name of an existing client, provided that the client has the expected version.
+     * The version is checked by the update statement itself; only when no row is updated is the version read to tell
+     * a missing client from a concurrent update.
+     *
+     * @param name The new name to assign to the client.
+     * @param id The unique identifier of the client to update.
+     * @param expectedVersion The version the client is expected to have, or null to update any version.
+     * @throws NoSuchElementException if no client is found with the provided ID.
+     * @throws OptimisticLockingFailureException if the client has a different version.
+     */
+    @Override
+    public void updateName(@NotBlank String name, long id, @Nullable Long expectedVersion) {
+        clientCache.write(id, () -> {
+            if (expectedVersion == null) {
+                if (clientRepository.updateNameById(id, name) == 0) {
+                    throw notFound(id);
+                }
+            } else if (clientRepository.updateNameByIdAndVersion(id, expectedVersion, name) == 0) {
+                throw clientRepository.findVersionById(id).isPresent() ? versionMismatch(id) : notFound(id);
+            }
+        });
     }
 
     /**
@@ -154,4 +409,87 @@ public class ClientServiceImpl implements ClientService {
         address.setBuildingNumber(request.buildingNumber());
         clientRepository.saveAndFlush(client);
     }
+
+    /**
+     * Helper method to create the exception thrown when a client does not exist.
+     *
+     * @param id The unique identifier of the missing client.
+     * @return A {@link NoSuchElementException} describing the missing client.
+     */
+    private static NoSuchElementException notFound(long id) {
+        return new NoSuchElementException(format("Cannot find client with id: %d", id));
+    }
+
+    /**
+     * Helper method to create the exception thrown when a client does not have the expected version.
+     *
+     * @param id The unique identifier of the client.
+     * @return An {@link OptimisticLockingFailureException} describing the conflict.
+     */
+    private static OptimisticLockingFailureException versionMismatch(long id) {
+        return new OptimisticLockingFailureException(format("Client with id %d has been modified", id));
+    }
+
+    /**
+     * Helper method to insert a chunk of validated clients, skipping names that are already taken.
+     *
+     * @param requests All requests of the batch.
+     * @param indexes The positions of the requests in this chunk.
+     * @param results The results of the batch, filled in for every request in this chunk.
+     */
+    private void createChunk(
+            @NotNull List<ClientAddRequest> requests,
+            @NotNull List<Integer> indexes,
+            @NotNull ClientBatchItemResult[] results
+    ) {
+        var existingNames = new HashSet<>(clientRepository.findExistingNames(
+                indexes.stream().map(index -> requests.get(index).name()).toList()));
+        var toInsert = new ArrayList<Integer>();
+        for (int index : indexes) {
+            var name = requests.get(index).name();
+            if (existingNames.contains(name)) {
+                results[index] = ClientBatchItemResult.failed(index, format("Client with name %s already exists", name));
+            } else {
+                toInsert.add(index);
+            }
+        }
+        try {
+            insert(requests, toInsert, results);
+        } catch (DataAccessException e) {
+            log.warn("Batch insert of {} clients failed, retrying them one by one", toInsert.size(), e);
+            for (int index : toInsert) {
+                try {
+                    insert(requests, List.of(index), results);
+                } catch (DataIntegrityViolationException ex) {
+                    results[index] = ClientBatchItemResult.failed(index, "Client violates a data integrity constraint");
+                } catch (DataAccessException ex) {
+                    log.error("Cannot insert client at index {}", index, ex);
+                    results[index] = ClientBatchItemResult.failed(index, "Client could not be stored");
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method to insert the given requests as new clients and record their identifiers.
+     *
+     * @param requests All requests of the batch.
+     * @param indexes The positions of the requests to insert.
+     * @param results The results of the batch, filled in for every inserted request.
+     */
+    private void insert(
+            @NotNull List<ClientAddRequest> requests,
+            @NotNull List<Integer> indexes,
+            @NotNull ClientBatchItemResult[] results
+    ) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        var clients = clientRepository.insertAll(indexes.stream()
+                .map(index -> clientMapper.toClient(requests.get(index)))
+                .toList());
+        for (int i = 0; i < indexes.size(); i++) {
+            results[indexes.get(i)] = ClientBatchItemResult.created(indexes.get(i), clients.get(i).getId());
+        }
+    }
 }
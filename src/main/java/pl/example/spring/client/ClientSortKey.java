@@ -0,0 +1,28 @@
+package pl.example.spring.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Keys by which clients can be ordered in keyset (seek) pagination.
+ * Only unique, indexed columns are offered, so seeking to the next slice is always an index range scan.
+ */
+@Getter
+@AllArgsConstructor
+public enum ClientSortKey {
+
+    /**
+     * Orders clients by their unique identifier.
+     */
+    ID("id"),
+
+    /**
+     * Orders clients by their unique name, with the identifier as a tie-breaker.
+     */
+    NAME("name");
+
+    /**
+     * The name of the {@link Client} property used in queries.
+     */
+    private final String property;
+}
@@ -0,0 +1,315 @@
+package pl.example.spring.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.example.spring.api.ClientAddRequest;
+import pl.example.spring.api.ClientOperationStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static java.lang.String.format;
+
+/**
+ * Bounded in-process queue of client writes that are acknowledged before they are committed.
+ *
+ * <p>Writes are validated when they are submitted and committed by a single background thread, in batches of up to
+ * `client.write-queue.batch-size` writes per transaction. Edits and name updates of a client that are still queued
+ * are coalesced into one pending write, so a burst of updates to the same client costs a single round of
+ * statements; all operations merged this way share the outcome. If a batch fails, its writes are retried one by one
+ * so that a single bad write does not fail the others.</p>
+ *
+ * <p>When `client.write-queue.capacity` writes are pending, further writes are rejected with a
+ * {@link RejectedExecutionException}. On shutdown the queue stops accepting writes and commits the pending ones.</p>
+ *
+ * <p>The outcome of every operation can be looked up by its identifier for `client.write-queue.status-retention`.
+ * Outcomes are kept in memory only, so they are lost on restart, together with writes that were still queued.</p>
+ */
+@Slf4j
+public class ClientWriteQueue implements SmartLifecycle {
+
+    /**
+     * Stopped after the web server, so writes accepted during graceful shutdown are still committed.
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ClientService clientService;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ClientWriteQueueProperties properties;
+    private final Cache<String, ClientOperationStatus> statuses;
+    private final LinkedHashMap<Object, PendingWrite> pending = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Counter coalesced;
+    private final Counter rejected;
+    private volatile boolean running;
+    private Thread writer;
+
+    public ClientWriteQueue(ClientService clientService, TransactionTemplate transactionTemplate, Validator validator,
+                            ClientWriteQueueProperties properties, MeterRegistry registry) {
+        this.clientService = clientService;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.properties = properties;
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(properties.statusRetention())
+                .build();
+        Gauge.builder("client.write.queue.pending", pending, LinkedHashMap::size)
+                .description("Client writes waiting to be committed")
+                .register(registry);
+        this.coalesced = Counter.builder("client.write.queue.coalesced")
+                .description("Client writes merged into a write to the same client that was already queued")
+                .register(registry);
+        this.rejected = Counter.builder("client.write.queue.rejected")
+                .description("Client writes rejected because the queue was full")
+                .register(registry);
+    }
+
+    /**
+     * Queues the creation of a client.
+     *
+     * @param request The data of the client to create.
+     * @return The status of the queued operation.
+     * @throws ConstraintViolationException if the data violates validation constraints.
+     * @throws RejectedExecutionException if the queue is full.
+     */
+    public @NotNull ClientOperationStatus create(@NotNull ClientAddRequest request) {
+        validate(request);
+        return enqueue(new Object(), null, write -> write.create = request);
+    }
+
+    /**
+     * Queues an update of all data of a client, replacing any queued update of the same client.
+     *
+     * @param request The new data of the client.
+     * @param id The unique identifier of the client.
+     * @return The status of the queued operation.
+     * @throws ConstraintViolationException if the data violates validation constraints.
+     * @throws RejectedExecutionException if the queue is full.
+     */
+    public @NotNull ClientOperationStatus edit(@NotNull ClientAddRequest request, long id) {
+        validate(request);
+        return enqueue(id, id, write -> {
+            write.edit = request;
+            write.name = null;
+        });
+    }
+
+    /**
+     * Queues an update of the name of a client, replacing any queued name update of the same client.
+     *
+     * @param name The new name of the client.
+     * @param id The unique identifier of the client.
+     * @return The status of the queued operation.
+     * @throws IllegalArgumentException if the name is blank.
+     * @throws RejectedExecutionException if the queue is full.
+     */
+    public @NotNull ClientOperationStatus updateName(@NotNull String name, long id) {
+        if (name.isBlank()) {
+            throw new IllegalArgumentException("Name cannot be blank");
+        }
+        return enqueue(id, id, write -> write.name = name);
+    }
+
+    /**
+     * Looks up the status of an operation.
+     *
+     * @param operationId The identifier returned when the operation was queued.
+     * @return An {@link Optional} containing the status, or empty if the operation is unknown or expired.
+     */
+    public @NotNull Optional<ClientOperationStatus> status(@NotNull String operationId) {
+        return Optional.ofNullable(statuses.getIfPresent(operationId));
+    }
+
+    private ClientOperationStatus enqueue(Object key, @Nullable Long clientId, Consumer<PendingWrite> change) {
+        var status = ClientOperationStatus.queued(UUID.randomUUID().toString(), clientId);
+        lock.lock();
+        try {
+            if (!running) {
+                throw new RejectedExecutionException("Client write queue is not running");
+            }
+            var write = pending.get(key);
+            if (write == null) {
+                if (pending.size() >= properties.capacity()) {
+                    rejected.increment();
+                    throw new RejectedExecutionException(
+                            format("Client write queue is full (%d pending writes)", properties.capacity()));
+                }
+                write = new PendingWrite(clientId);
+                pending.put(key, write);
+                notEmpty.signal();
+            } else {
+                coalesced.increment();
+            }
+            change.accept(write);
+            write.operationIds.add(status.operationId());
+            statuses.put(status.operationId(), status);
+        } finally {
+            lock.unlock();
+        }
+        return status;
+    }
+
+    private void validate(ClientAddRequest request) {
+        var violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
+
+    private void run() {
+        try {
+            List<PendingWrite> batch;
+            while (!(batch = take()).isEmpty()) {
+                commit(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Client write queue interrupted with {} pending writes", pending.size());
+        }
+    }
+
+    /**
+     * Waits for pending writes and removes up to a batch of them from the queue.
+     *
+     * @return The writes to commit, or an empty list once the queue is stopped and drained.
+     */
+    private List<PendingWrite> take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (pending.isEmpty() && running) {
+                notEmpty.await();
+            }
+            var batch = new ArrayList<PendingWrite>(Math.min(pending.size(), properties.batchSize()));
+            var iterator = pending.values().iterator();
+            while (iterator.hasNext() && batch.size() < properties.batchSize()) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void commit(List<PendingWrite> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(transaction -> batch.forEach(this::apply));
+            batch.forEach(this::committed);
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                log.warn("Committing a batch of {} client writes failed, retrying them one by one", batch.size(), e);
+            }
+            for (var write : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(transaction -> apply(write));
+                    committed(write);
+                } catch (RuntimeException ex) {
+                    failed(write, ex);
+                }
+            }
+        }
+    }
+
+    private void apply(PendingWrite write) {
+        if (write.create != null) {
+            write.clientId = clientService.create(write.create).getId();
+        }
+        if (write.edit != null) {
+            clientService.edit(write.edit, write.clientId);
+        }
+        if (write.name != null) {
+            clientService.updateName(write.name, write.clientId);
+        }
+    }
+
+    private void committed(PendingWrite write) {
+        write.operationIds.forEach(operationId ->
+                statuses.put(operationId, ClientOperationStatus.committed(operationId, write.clientId)));
+    }
+
+    private void failed(PendingWrite write, RuntimeException e) {
+        String message;
+        if (e instanceof NoSuchElementException) {
+            message = e.getMessage();
+        } else if (e instanceof DataIntegrityViolationException) {
+            message = "Client violates a data integrity constraint";
+        } else {
+            log.error("Cannot commit write of client {}", write.clientId, e);
+            message = "Client could not be stored";
+        }
+        write.operationIds.forEach(operationId ->
+                statuses.put(operationId, ClientOperationStatus.failed(operationId, write.clientId, message)));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("client-write-queue").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            if (!writer.join(STOP_TIMEOUT)) {
+                log.warn("Client write queue did not drain within {}", STOP_TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Writes to one client, or a single creation, waiting to be committed.
+     */
+    private static final class PendingWrite {
+        private final List<String> operationIds = new ArrayList<>();
+        private Long clientId;
+        private ClientAddRequest create;
+        private ClientAddRequest edit;
+        private String name;
+
+        private PendingWrite(@Nullable Long clientId) {
+            this.clientId = clientId;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package pl.example.spring.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Configuration of asynchronous client writes, active when `client.write-queue.enabled` is true.
+ * It provides the {@link ClientWriteQueue} behind the `/api/client/async` endpoints.
+ */
+@Configuration
+@ConditionalOnProperty(name = "client.write-queue.enabled", havingValue = "true")
+@EnableConfigurationProperties(ClientWriteQueueProperties.class)
+public class ClientWriteQueueConfiguration {
+
+    @Bean
+    public ClientWriteQueue clientWriteQueue(
+            ClientService clientService,
+            TransactionTemplate transactionTemplate,
+            Validator validator,
+            ClientWriteQueueProperties properties,
+            MeterRegistry registry
+    ) {
+        return new ClientWriteQueue(clientService, transactionTemplate, validator, properties, registry);
+    }
+}
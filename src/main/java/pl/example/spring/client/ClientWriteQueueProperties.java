@@ -0,0 +1,23 @@
+package pl.example.spring.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the asynchronous {@link ClientWriteQueue}, bound from the `client.write-queue` prefix.
+ *
+ * @param enabled Whether the asynchronous write endpoints are available.
+ * @param capacity The maximum number of pending writes; further writes are rejected until the queue drains.
+ * @param batchSize The maximum number of writes committed in one transaction.
+ * @param statusRetention How long the outcome of a write can be looked up after it was last updated.
+ */
+@ConfigurationProperties("client.write-queue")
+public record ClientWriteQueueProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10000") int capacity,
+        @DefaultValue("200") int batchSize,
+        @DefaultValue("10m") Duration statusRetention
+) {
+}
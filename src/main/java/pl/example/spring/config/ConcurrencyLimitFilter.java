@@ -0,0 +1,117 @@
+package pl.example.spring.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Servlet filter limiting the number of requests processed at the same time.
+ * With virtual threads the web tier no longer caps concurrency, so without this limit thousands of requests would
+ * queue inside the connection pool and fail with connection timeouts. Requests waiting longer than the configured
+ * timeout for a free slot are rejected with 503 Service Unavailable.
+ *
+ * <p>An asynchronous request, such as a streamed export, keeps its slot until the async processing completes, errors
+ * or times out, since it may still hold a database connection after the filter chain returns. Async dispatches are not
+ * filtered again, so they do not take a second slot.</p>
+ *
+ * <p>The number of free slots and rejected requests are published as `http.server.requests.limit.available` and
+ * `http.server.requests.limit.rejected` meters.</p>
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(int maxConcurrentRequests, Duration acquireTimeout, MeterRegistry registry) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeout = acquireTimeout;
+        this.rejected = Counter.builder("http.server.requests.limit.rejected")
+                .description("Number of requests rejected because the concurrency limit was reached")
+                .register(registry);
+        Gauge.builder("http.server.requests.limit.available", permits, Semaphore::availablePermits)
+                .description("Number of requests that can still be processed concurrently")
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NotNull HttpServletRequest request,
+            @NotNull HttpServletResponse response,
+            @NotNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many concurrent requests");
+            return;
+        }
+        var permit = new Permit();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * A slot taken by one request, released at most once, either when the filter chain returns or when the async
+     * processing of the request ends.
+     */
+    private class Permit implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Async processing restarted from a dispatch; the context keeps this listener only if it is added again
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package pl.example.spring.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -12,32 +17,72 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import pl.example.spring.security.AuthenticationCache;
+import pl.example.spring.security.AuthenticationCacheProperties;
+import pl.example.spring.security.CachingAuthenticationManager;
+import pl.example.spring.security.CustomUserDetailsService;
+import pl.example.spring.security.TokenAuthenticationFilter;
+import pl.example.spring.security.TokenProperties;
+import pl.example.spring.security.TokenService;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties({AuthenticationCacheProperties.class, TokenProperties.class})
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationManager authenticationManager,
+                                                   ObjectProvider<TokenService> tokenService) throws Exception {
         http
                 .authorizeHttpRequests(requests -> requests
-                        .requestMatchers("/api/client/all", "/api/client/page").permitAll() // Public endpoints
+                        .requestMatchers("/api/auth/token").permitAll() // Login endpoint of token authentication
+                        .requestMatchers("/api/client/all", "/api/client/stream", "/api/client/page",
+                                "/api/client/slice").permitAll() // Public endpoints
                         .requestMatchers("/api/client/**").authenticated() // Require authentication for other endpoints
+                        .requestMatchers("/api/item/**").authenticated()
                 )
                 .httpBasic(withDefaults()) // Use HTTP Basic authentication
+                // Two UserDetailsService beans exist, so Basic would configure neither; this manager tries both
+                .authenticationManager(authenticationManager)
                 .csrf(AbstractHttpConfigurer::disable); // Disable CSRF for simplicity (enable it in production)
 
+        // Bearer tokens are checked before Basic, which remains available as a fallback
+        tokenService.ifAvailable(service ->
+                http.addFilterBefore(new TokenAuthenticationFilter(service), BasicAuthenticationFilter.class));
+
         http
                 .authorizeHttpRequests(requests -> requests
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll() // Allow Swagger UI
-                        .requestMatchers("/api/client/all", "/api/client/page").permitAll()
+                        .requestMatchers("/api/client/all", "/api/client/stream", "/api/client/page",
+                                "/api/client/slice").permitAll()
                         .requestMatchers("/api/client/**").authenticated()
                 );
         return http.build();
     }
 
+    /**
+     * Authenticates users stored in the database first and the built-in users second.
+     * Successful authentications are cached, so BCrypt runs once per user and password until the entry expires.
+     */
+    @Bean
+    public AuthenticationManager authenticationManager(CustomUserDetailsService customUserDetailsService,
+                                                       AuthenticationCache authenticationCache) {
+        var delegate = new ProviderManager(
+                authenticationProvider(customUserDetailsService),
+                authenticationProvider(userDetailsService()));
+        return new CachingAuthenticationManager(delegate, authenticationCache);
+    }
+
+    private DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService) {
+        var provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder());
+        return provider;
+    }
+
     @Bean
     public UserDetailsService userDetailsService() {
         UserDetails user = User.builder()
@@ -0,0 +1,63 @@
+package pl.example.spring.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Configuration of the virtual-thread execution mode, active when `spring.threads.virtual.enabled` is true.
+ * Spring Boot then handles requests on virtual threads; this class adds the safeguards that mode needs:
+ * <ul>
+ *     <li>A {@link ConcurrencyLimitFilter} on the API, sized as a multiple of the Hikari connection pool, so a
+ *     burst of blocking JPA calls waits in a fair queue instead of timing out inside the pool.</li>
+ *     <li>A {@link VirtualThreadPinningMonitor} reporting virtual threads pinned in `synchronized` blocks.</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+public class VirtualThreadConfig {
+
+    /**
+     * Pool size assumed when the data source is not a Hikari pool; matches Hikari's own default.
+     */
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            VirtualThreadProperties properties,
+            DataSource dataSource,
+            MeterRegistry registry
+    ) throws SQLException {
+        int maxConcurrentRequests = properties.maxConcurrentRequests() != null
+                ? properties.maxConcurrentRequests()
+                : poolSize(dataSource) * properties.requestsPerConnection();
+        var registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(maxConcurrentRequests, properties.acquireTimeout(), registry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            VirtualThreadProperties properties,
+            MeterRegistry registry
+    ) {
+        return new VirtualThreadPinningMonitor(properties.pinnedThreshold(), registry);
+    }
+
+    private static int poolSize(DataSource dataSource) throws SQLException {
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
@@ -0,0 +1,28 @@
+package pl.example.spring.config;
+
+import org.jetbrains.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the virtual-thread execution mode, bound from the `virtual-threads` prefix.
+ * They only take effect when virtual threads are enabled with `spring.threads.virtual.enabled`.
+ *
+ * @param maxConcurrentRequests The maximum number of API requests handled at once. When not set, it defaults to the
+ *                              maximum size of the Hikari connection pool times `requestsPerConnection`.
+ * @param requestsPerConnection How many concurrent API requests the default limit allows per pooled connection. Above
+ *                              one, because cache hits and endpoints not using the database hold no connection, and
+ *                              the others hold one only for part of their time.
+ * @param acquireTimeout How long a request waits for a free slot before it is rejected with 503.
+ * @param pinnedThreshold The minimum duration of a virtual thread pinning that is reported.
+ */
+@ConfigurationProperties("virtual-threads")
+public record VirtualThreadProperties(
+        @Nullable Integer maxConcurrentRequests,
+        @DefaultValue("10") int requestsPerConnection,
+        @DefaultValue("5s") Duration acquireTimeout,
+        @DefaultValue("20ms") Duration pinnedThreshold
+) {
+}
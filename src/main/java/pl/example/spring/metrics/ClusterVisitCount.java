@@ -0,0 +1,46 @@
+package pl.example.spring.metrics;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Answers the number of page visits counted by the whole cluster without querying the database per request.
+ *
+ * <p>The visits of the other nodes are read from their {@link VisitCount} rows in the background and cached, while
+ * this node's own visits come straight from the {@link VisitCounter}. The total is therefore exact for this node and
+ * lags behind the others by at most their flush interval plus the refresh interval. If a refresh fails, the
+ * previous value is kept.</p>
+ */
+@Slf4j
+public class ClusterVisitCount {
+
+    private final VisitCounter visitCounter;
+    private final VisitCountRepository visitCountRepository;
+    private final String node;
+    private volatile long otherNodes;
+
+    public ClusterVisitCount(VisitCounter visitCounter, VisitCountRepository visitCountRepository, String node) {
+        this.visitCounter = visitCounter;
+        this.visitCountRepository = visitCountRepository;
+        this.node = node;
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${visits.cluster-refresh-interval:5s}")
+    public void refresh() {
+        try {
+            otherNodes = visitCountRepository.sumVisitsOfOtherNodes(node);
+        } catch (DataAccessException e) {
+            log.warn("Could not read the visits of other nodes, keeping the previous value", e);
+        }
+    }
+
+    /**
+     * @return All visits counted by the cluster.
+     */
+    public long total() {
+        return otherNodes + visitCounter.total();
+    }
+}
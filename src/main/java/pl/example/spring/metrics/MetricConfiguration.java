@@ -1,12 +1,67 @@
 package pl.example.spring.metrics;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
 
 @Configuration
+@EnableScheduling
+@EnableJpaRepositories(basePackageClasses = { VisitCountRepositorySql.class })
+@EnableConfigurationProperties({RepositoryMetricsProperties.class, VisitCounterProperties.class})
 public class MetricConfiguration {
     @ConditionalOnMissingBean(MetricService.class)
     @Import({MetricService.class})
     public static class ServiceConfiguration { }
+
+    @Bean
+    public VisitCounter visitCounter() {
+        return new VisitCounter(Clock.systemUTC());
+    }
+
+    @Bean
+    public VisitCountFlusher visitCountFlusher(VisitCounter visitCounter, VisitCountRepository visitCountRepository,
+                                               VisitCounterProperties properties) throws UnknownHostException {
+        return new VisitCountFlusher(visitCounter, visitCountRepository, nodeId(properties));
+    }
+
+    @Bean
+    public ClusterVisitCount clusterVisitCount(VisitCounter visitCounter, VisitCountRepository visitCountRepository,
+                                               VisitCounterProperties properties) throws UnknownHostException {
+        return new ClusterVisitCount(visitCounter, visitCountRepository, nodeId(properties));
+    }
+
+    @Bean
+    public StatementRecorder statementRecorder(RepositoryMetricsProperties properties) {
+        return new StatementRecorder(properties.maxLoggedStatements());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementRecorderCustomizer(StatementRecorder statementRecorder) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementRecorder);
+    }
+
+    private static String nodeId(VisitCounterProperties properties) throws UnknownHostException {
+        return properties.nodeId() != null ? properties.nodeId() : InetAddress.getLocalHost().getHostName();
+    }
+
+    @Bean
+    public static RepositoryMetricsPostProcessor repositoryMetricsPostProcessor(
+            ObjectProvider<MeterRegistry> registry,
+            ObjectProvider<StatementRecorder> statementRecorder,
+            ObjectProvider<RepositoryMetricsProperties> properties
+    ) {
+        return new RepositoryMetricsPostProcessor(registry, statementRecorder, properties);
+    }
 }
@@ -3,21 +3,34 @@ package pl.example.spring.metrics;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import pl.example.spring.api.VisitStats;
 
 public class MetricService {
     private final Counter counter;
+    private final VisitCounter visitCounter;
+    private final ClusterVisitCount clusterVisitCount;
 
-    public MetricService(MeterRegistry registry) {
+    public MetricService(MeterRegistry registry, VisitCounter visitCounter, ClusterVisitCount clusterVisitCount) {
         counter = Counter.builder("get counter")
                 .description("Number of visits to the page")
                 .register(registry);
+        this.visitCounter = visitCounter;
+        this.clusterVisitCount = clusterVisitCount;
     }
 
     public void incrementCount() {
         counter.increment();
+        visitCounter.increment();
     }
 
+    /**
+     * @return All visits counted by the cluster, including those stored before nodes were restarted.
+     */
     public double getResult() {
-        return counter.count();
+        return clusterVisitCount.total();
+    }
+
+    public VisitStats getStats() {
+        return visitCounter.stats();
     }
 }
@@ -0,0 +1,131 @@
+package pl.example.spring.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Interceptor added to a Spring Data repository proxy that records, per repository method:
+ * <ul>
+ *     <li>`repository.statements`: The number of SQL statements the call prepared, which exposes N+1 patterns.</li>
+ *     <li>`repository.results`: The number of entities or rows the call returned.</li>
+ *     <li>`repository.slow.invocations`: The number of calls slower than the configured threshold. Each of them is
+ *     also logged with its arguments and SQL.</li>
+ * </ul>
+ * Call durations are already recorded by Spring Boot as `spring.data.repository.invocations`.
+ */
+@Slf4j
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private static final int MAX_ARGUMENT_LENGTH = 200;
+
+    private final String repository;
+    private final StatementRecorder statementRecorder;
+    private final Supplier<MeterRegistry> registry;
+    private final long slowQueryThresholdNanos;
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsInterceptor(String repository, StatementRecorder statementRecorder,
+                                        Supplier<MeterRegistry> registry, Duration slowQueryThreshold) {
+        this.repository = repository;
+        this.statementRecorder = statementRecorder;
+        this.registry = registry;
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        var recording = statementRecorder.start();
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            record(invocation, recording, System.nanoTime() - start, resultSize(result));
+            return result;
+        } catch (Throwable e) {
+            record(invocation, recording, System.nanoTime() - start, -1);
+            throw e;
+        } finally {
+            recording.close();
+        }
+    }
+
+    private void record(MethodInvocation invocation, StatementRecorder.Recording recording, long nanos,
+                        long resultSize) {
+        var methodMeters = meters.computeIfAbsent(invocation.getMethod(), this::meters);
+        methodMeters.statements().record(recording.count());
+        if (resultSize >= 0) {
+            methodMeters.results().record(resultSize);
+        }
+        if (nanos >= slowQueryThresholdNanos) {
+            methodMeters.slow().increment();
+            log.warn("Slow repository call {}.{} took {} ms and {} statements, arguments: {}, SQL: {}",
+                    repository, invocation.getMethod().getName(), TimeUnit.NANOSECONDS.toMillis(nanos),
+                    recording.count(), arguments(invocation.getArguments()), recording.statements());
+        }
+    }
+
+    private Meters meters(Method method) {
+        var registry = this.registry.get();
+        return new Meters(
+                DistributionSummary.builder("repository.statements")
+                        .description("SQL statements prepared by a repository call")
+                        .baseUnit("statements")
+                        .tags("repository", repository, "method", method.getName())
+                        .register(registry),
+                DistributionSummary.builder("repository.results")
+                        .description("Entities or rows returned by a repository call")
+                        .baseUnit("rows")
+                        .tags("repository", repository, "method", method.getName())
+                        .register(registry),
+                Counter.builder("repository.slow.invocations")
+                        .description("Repository calls slower than repository.metrics.slow-query-threshold")
+                        .tags("repository", repository, "method", method.getName())
+                        .register(registry));
+    }
+
+    /**
+     * @return The number of elements in the result, or -1 if the method returns nothing countable.
+     */
+    private static long resultSize(Object result) {
+        return switch (result) {
+            case null -> 0;
+            case Collection<?> collection -> collection.size();
+            case Slice<?> slice -> slice.getNumberOfElements();
+            case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+            case Number ignored -> -1;
+            case Boolean ignored -> -1;
+            default -> result.getClass().isArray() ? Array.getLength(result) : 1;
+        };
+    }
+
+    private static String arguments(Object[] arguments) {
+        return Arrays.stream(arguments)
+                .map(String::valueOf)
+                .map(argument -> argument.length() > MAX_ARGUMENT_LENGTH
+                        ? argument.substring(0, MAX_ARGUMENT_LENGTH) + "..."
+                        : argument)
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private record Meters(DistributionSummary statements, DistributionSummary results, Counter slow) {
+    }
+}
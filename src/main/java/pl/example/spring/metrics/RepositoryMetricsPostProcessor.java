@@ -0,0 +1,33 @@
+package pl.example.spring.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Adds a {@link RepositoryMetricsInterceptor} to every Spring Data repository, including the `Item` repositories
+ * once they are enabled, before the repository proxy is created.
+ * Its dependencies are resolved lazily, so that declaring the post processor does not initialize them early.
+ */
+@AllArgsConstructor
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> registry;
+    private final ObjectProvider<StatementRecorder> statementRecorder;
+    private final ObjectProvider<RepositoryMetricsProperties> properties;
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(new RepositoryMetricsInterceptor(
+                            information.getRepositoryInterface().getSimpleName(),
+                            statementRecorder.getObject(),
+                            registry::getObject,
+                            properties.getObject().slowQueryThreshold()))));
+        }
+        return bean;
+    }
+}
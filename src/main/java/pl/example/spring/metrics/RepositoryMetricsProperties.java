@@ -0,0 +1,19 @@
+package pl.example.spring.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the repository instrumentation, bound from the `repository.metrics` prefix.
+ *
+ * @param slowQueryThreshold Repository calls taking at least this long are logged with their arguments and SQL.
+ * @param maxLoggedStatements The maximum number of SQL statements kept per call for the slow-query log.
+ */
+@ConfigurationProperties("repository.metrics")
+public record RepositoryMetricsProperties(
+        @DefaultValue("200ms") Duration slowQueryThreshold,
+        @DefaultValue("10") int maxLoggedStatements
+) {
+}
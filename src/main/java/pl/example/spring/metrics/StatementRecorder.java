@@ -0,0 +1,86 @@
+package pl.example.spring.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate {@link StatementInspector} counting the SQL statements prepared on the current thread while a
+ * {@link Recording} is open, and keeping the first few of them.
+ * Unlike Hibernate's statistics, which are totals of the whole session factory, the counts are exact per call even
+ * when many requests run at once.
+ * Repository fragments that run SQL through JDBC report it by calling {@link #inspect} themselves.
+ *
+ * <p>Recordings nest: statements counted by an inner recording are counted by the enclosing one as well.</p>
+ */
+public class StatementRecorder implements StatementInspector {
+
+    private final ThreadLocal<Recording> current = new ThreadLocal<>();
+    private final int maxKeptStatements;
+
+    public StatementRecorder(int maxKeptStatements) {
+        this.maxKeptStatements = maxKeptStatements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        for (var recording = current.get(); recording != null; recording = recording.parent) {
+            recording.record(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting statements prepared on the current thread until the returned recording is closed.
+     */
+    public Recording start() {
+        var recording = new Recording(current.get());
+        current.set(recording);
+        return recording;
+    }
+
+    /**
+     * Statements prepared on one thread between {@link #start()} and {@link #close()}.
+     */
+    public final class Recording implements AutoCloseable {
+
+        private final Recording parent;
+        private final List<String> statements = new ArrayList<>();
+        private int count;
+
+        private Recording(Recording parent) {
+            this.parent = parent;
+        }
+
+        private void record(String sql) {
+            count++;
+            if (statements.size() < maxKeptStatements) {
+                statements.add(sql);
+            }
+        }
+
+        /**
+         * @return The number of statements prepared so far.
+         */
+        public int count() {
+            return count;
+        }
+
+        /**
+         * @return The first statements prepared, at most as many as configured.
+         */
+        public List<String> statements() {
+            return statements;
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                current.remove();
+            } else {
+                current.set(parent);
+            }
+        }
+    }
+}
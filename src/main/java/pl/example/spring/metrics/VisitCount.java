@@ -0,0 +1,43 @@
+package pl.example.spring.metrics;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * The number of page visits counted by one application node, stored so that it survives restarts.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "visit_count")
+public class VisitCount {
+
+    /**
+     * The identifier of the node, see `visits.node-id`.
+     */
+    @Id
+    @Column(name = "node", nullable = false)
+    private String node;
+
+    /**
+     * All visits the node has counted and flushed.
+     */
+    @Column(name = "visits", nullable = false)
+    private long visits;
+
+    /**
+     * When the node last flushed its visits.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
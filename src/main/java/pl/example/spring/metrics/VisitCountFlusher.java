@@ -0,0 +1,57 @@
+package pl.example.spring.metrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Instant;
+
+/**
+ * Periodically stores the visits counted by the {@link VisitCounter} in this node's {@link VisitCount} row, so that
+ * counting a visit never writes to the database and the total survives restarts.
+ * All visits since the previous flush are added with a single statement; if it fails, they are kept and retried on
+ * the next flush.
+ */
+@Slf4j
+public class VisitCountFlusher {
+
+    private final VisitCounter visitCounter;
+    private final VisitCountRepository visitCountRepository;
+    private final String node;
+
+    public VisitCountFlusher(VisitCounter visitCounter, VisitCountRepository visitCountRepository, String node) {
+        this.visitCounter = visitCounter;
+        this.visitCountRepository = visitCountRepository;
+        this.node = node;
+    }
+
+    @PostConstruct
+    public void restore() {
+        visitCountRepository.findById(node).ifPresent(visitCount -> visitCounter.restore(visitCount.getVisits()));
+    }
+
+    @Scheduled(fixedDelayString = "${visits.flush-interval:10s}")
+    public void flush() {
+        long visits = visitCounter.unflushed();
+        if (visits == 0) {
+            return;
+        }
+        try {
+            var now = Instant.now();
+            if (visitCountRepository.addVisits(node, visits, now) == 0) {
+                visitCountRepository.save(new VisitCount(node, visits, now));
+            }
+            visitCounter.flushed(visits);
+        } catch (DataAccessException e) {
+            log.warn("Could not flush {} visits of node {}, retrying on the next flush", visits, node, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        visitCounter.sample();
+        flush();
+    }
+}
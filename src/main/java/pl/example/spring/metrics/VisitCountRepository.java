@@ -0,0 +1,22 @@
+package pl.example.spring.metrics;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface VisitCountRepository {
+    Optional<VisitCount> findById(String node);
+
+    VisitCount save(VisitCount visitCount);
+
+    /**
+     * Adds visits to the stored count of a node in a single statement.
+     *
+     * @return The number of updated rows, 0 if the node has no row yet.
+     */
+    int addVisits(String node, long visits, Instant updatedAt);
+
+    /**
+     * @return The sum of the visits stored by every node other than the given one.
+     */
+    long sumVisitsOfOtherNodes(String node);
+}
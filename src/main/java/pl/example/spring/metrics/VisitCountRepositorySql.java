@@ -0,0 +1,23 @@
+package pl.example.spring.metrics;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface VisitCountRepositorySql extends VisitCountRepository, JpaRepository<VisitCount, String> {
+    @Override
+    @Transactional
+    @Modifying
+    @Query("update VisitCount v set v.visits = v.visits + :visits, v.updatedAt = :updatedAt where v.node = :node")
+    int addVisits(@Param("node") String node, @Param("visits") long visits, @Param("updatedAt") Instant updatedAt);
+
+    @Override
+    @Query("select coalesce(sum(v.visits), 0) from VisitCount v where v.node <> :node")
+    long sumVisitsOfOtherNodes(@Param("node") String node);
+}
@@ -0,0 +1,106 @@
+package pl.example.spring.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import pl.example.spring.api.VisitStats;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts page visits on this node without contention and keeps per-second, per-minute and per-hour windows of them.
+ *
+ * <p>Visits are added to a {@link LongAdder}, whose striped cells keep concurrent requests from contending on a
+ * single counter. Once a second {@link #sample()} moves the visits of the past second into the windows and into the
+ * count awaiting {@link VisitCountFlusher}, so reading the rates never touches the request path.</p>
+ */
+public class VisitCounter {
+
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int HOURS_PER_DAY = 24;
+
+    private final LongAdder current = new LongAdder();
+    private final AtomicLong unflushed = new AtomicLong();
+    private final AtomicLong persisted = new AtomicLong();
+    private final WindowRing seconds = new WindowRing(2 * SECONDS_PER_MINUTE, 1);
+    private final WindowRing minutes = new WindowRing(MINUTES_PER_HOUR, SECONDS_PER_MINUTE);
+    private final WindowRing hours = new WindowRing(HOURS_PER_DAY, SECONDS_PER_MINUTE * MINUTES_PER_HOUR);
+    private final Clock clock;
+    private volatile long lastSampled;
+
+    public VisitCounter(Clock clock) {
+        this.clock = clock;
+        this.lastSampled = clock.instant().getEpochSecond() - 1;
+    }
+
+    /**
+     * Counts a single visit.
+     */
+    public void increment() {
+        current.increment();
+    }
+
+    /**
+     * Attributes the visits counted since the previous sample to the second that just ended.
+     */
+    @Scheduled(fixedRate = 1000)
+    public void sample() {
+        long second = clock.instant().getEpochSecond() - 1;
+        long count = current.sumThenReset();
+        seconds.add(second, count);
+        minutes.add(second, count);
+        hours.add(second, count);
+        unflushed.addAndGet(count);
+        lastSampled = second;
+    }
+
+    /**
+     * @return All visits counted by this node, including the ones restored from the database at startup.
+     */
+    public long total() {
+        return persisted.get() + unflushed.get() + current.sum();
+    }
+
+    /**
+     * @return The sampled visits that have not been stored in the database yet.
+     */
+    public long unflushed() {
+        return unflushed.get();
+    }
+
+    /**
+     * Records that the given number of sampled visits has been stored in the database.
+     */
+    public void flushed(long visits) {
+        persisted.addAndGet(visits);
+        unflushed.addAndGet(-visits);
+    }
+
+    /**
+     * Sets the number of visits this node stored in the database before it started.
+     */
+    public void restore(long visits) {
+        persisted.set(visits);
+    }
+
+    /**
+     * @return The total and the recent rates of visits on this node.
+     */
+    public @NotNull VisitStats stats() {
+        long second = lastSampled;
+        long lastMinute = seconds.sum(second, SECONDS_PER_MINUTE, 0);
+        long previousMinute = seconds.sum(second, SECONDS_PER_MINUTE, SECONDS_PER_MINUTE);
+        long lastHour = minutes.sum(second, MINUTES_PER_HOUR, 0);
+        return new VisitStats(
+                total(),
+                seconds.sum(second, 1, 0),
+                (double) lastMinute / SECONDS_PER_MINUTE,
+                (double) lastHour / (SECONDS_PER_MINUTE * MINUTES_PER_HOUR),
+                lastMinute,
+                lastHour,
+                hours.sum(second, HOURS_PER_DAY, 0),
+                previousMinute == 0 ? null : (double) (lastMinute - previousMinute) / previousMinute);
+    }
+}
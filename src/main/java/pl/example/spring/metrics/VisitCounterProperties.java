@@ -0,0 +1,23 @@
+package pl.example.spring.metrics;
+
+import org.jetbrains.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the visit counter, bound from the `visits` prefix.
+ *
+ * @param nodeId The identifier under which this node stores its visits. It must be unique in the cluster and stable
+ *               across restarts; when not set, the host name is used.
+ * @param flushInterval How often counted visits are written to the database.
+ * @param clusterRefreshInterval How often the visits of the other nodes are read from the database.
+ */
+@ConfigurationProperties("visits")
+public record VisitCounterProperties(
+        @Nullable String nodeId,
+        @DefaultValue("10s") Duration flushInterval,
+        @DefaultValue("5s") Duration clusterRefreshInterval
+) {
+}
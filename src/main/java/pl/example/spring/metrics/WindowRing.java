@@ -0,0 +1,58 @@
+package pl.example.spring.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size ring of counts per time slot, such as per second or per minute.
+ * A slot is reused once the ring wraps around, so only the most recent `size` slots are kept.
+ *
+ * <p>Written by a single sampling thread and read by any number of threads without locking; a reader racing with a
+ * slot being reused may briefly see that slot's old count.</p>
+ */
+final class WindowRing {
+
+    private final long slotSeconds;
+    private final AtomicLongArray slots;
+    private final AtomicLongArray counts;
+
+    WindowRing(int size, long slotSeconds) {
+        this.slotSeconds = slotSeconds;
+        this.slots = new AtomicLongArray(size);
+        this.counts = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots.set(i, -1);
+        }
+    }
+
+    /**
+     * Adds a count to the slot containing the given second.
+     */
+    void add(long epochSecond, long count) {
+        long slot = epochSecond / slotSeconds;
+        int index = index(slot);
+        if (slots.get(index) != slot) {
+            counts.set(index, 0);
+            slots.set(index, slot);
+        }
+        counts.addAndGet(index, count);
+    }
+
+    /**
+     * Sums the counts of `length` consecutive slots ending `offset` slots before the slot containing the given second.
+     */
+    long sum(long epochSecond, int length, int offset) {
+        long last = epochSecond / slotSeconds - offset;
+        long sum = 0;
+        for (long slot = last - length + 1; slot <= last; slot++) {
+            int index = index(slot);
+            if (slot >= 0 && slots.get(index) == slot) {
+                sum += counts.get(index);
+            }
+        }
+        return sum;
+    }
+
+    private int index(long slot) {
+        return (int) Math.floorMod(slot, (long) slots.length());
+    }
+}
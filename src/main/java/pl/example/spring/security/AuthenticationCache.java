@@ -0,0 +1,121 @@
+package pl.example.spring.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, short-lived cache of successful username and password authentications, so that repeated HTTP Basic
+ * requests do not pay for a BCrypt verification and a user lookup every time.
+ * Hit, miss and eviction statistics are published to the {@link MeterRegistry} under the cache name
+ * `authentication`.
+ *
+ * <p>Entries are keyed by the username and an HMAC-SHA256 of the username and password, computed with a random key
+ * generated at startup, so passwords themselves are never kept in memory. Only successful authentications are
+ * cached; a wrong password always goes to the delegate.</p>
+ *
+ * <p>Changes to a user are not noticed until the entry expires unless {@link #invalidate(String)} is called, which
+ * {@link UserCredentialsListener} does whenever a stored user is updated or removed.</p>
+ */
+@Component
+public class AuthenticationCache {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final Cache<Key, Authentication> cache;
+    private final SecretKeySpec secret;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public AuthenticationCache(AuthenticationCacheProperties properties, MeterRegistry registry) {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        secret = new SecretKeySpec(key, ALGORITHM);
+        cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.timeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "authentication");
+    }
+
+    /**
+     * Returns the cached authentication of the given credentials, authenticating them with the delegate on a miss.
+     *
+     * @param request The username and password to authenticate.
+     * @param delegate The {@link AuthenticationManager} verifying credentials that are not cached.
+     * @return The authenticated {@link Authentication}.
+     */
+    public Authentication authenticate(@NotNull UsernamePasswordAuthenticationToken request,
+                                       @NotNull AuthenticationManager delegate) {
+        if (!(request.getCredentials() instanceof String password)) {
+            return delegate.authenticate(request);
+        }
+        long invalidationsBefore = invalidations.get();
+        var key = new Key(request.getName(), digest(request.getName(), password));
+        var cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        var authenticated = delegate.authenticate(request);
+        if (authenticated != null && authenticated.isAuthenticated()) {
+            cache.asMap().compute(key,
+                    (ignored, current) -> invalidations.get() == invalidationsBefore ? authenticated : current);
+        }
+        return authenticated;
+    }
+
+    /**
+     * Removes every cached authentication of a user.
+     * If a transaction is active, the entries are removed again once it completes, so an authentication verified
+     * against the old password just before the commit is not kept either.
+     *
+     * @param username The name of the user whose credentials changed.
+     */
+    public void invalidate(@NotNull String username) {
+        evict(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(username);
+                }
+            });
+        }
+    }
+
+    private void evict(String username) {
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.username().equals(username));
+    }
+
+    private String digest(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(secret);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    private record Key(String username, String digest) {
+    }
+}
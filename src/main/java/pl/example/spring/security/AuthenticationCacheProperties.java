@@ -0,0 +1,19 @@
+package pl.example.spring.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the {@link AuthenticationCache}, bound from the `security.authentication-cache` prefix.
+ *
+ * @param maximumSize The maximum number of authenticated credentials kept in the cache.
+ * @param timeToLive How long successfully verified credentials are trusted without checking the password again.
+ */
+@ConfigurationProperties("security.authentication-cache")
+public record AuthenticationCacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("2m") Duration timeToLive
+) {
+}
@@ -0,0 +1,26 @@
+package pl.example.spring.security;
+
+import lombok.AllArgsConstructor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * {@link AuthenticationManager} answering username and password authentications from the {@link AuthenticationCache}
+ * and passing everything else, as well as cache misses, to the delegate.
+ */
+@AllArgsConstructor
+public class CachingAuthenticationManager implements AuthenticationManager {
+
+    private final AuthenticationManager delegate;
+    private final AuthenticationCache authenticationCache;
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (authentication instanceof UsernamePasswordAuthenticationToken request) {
+            return authenticationCache.authenticate(request, delegate);
+        }
+        return delegate.authenticate(authentication);
+    }
+}
@@ -1,11 +1,26 @@
 package pl.example.spring.security;
 
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 public interface DatabaseUserRepository extends UserRepository, JpaRepository<User, Long> {
+
+    /**
+     * Finds a user by username through the `user-by-username` query cache region.
+     * The region keeps the identifier of the matching user, which is then loaded from the `user` entity region, so
+     * repeated lookups do not reach the database until the user table is written to.
+     */
     @Override
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "user-by-username")
+    })
     Optional<User> findByUsername(String username);
 }
@@ -0,0 +1,23 @@
+package pl.example.spring.security;
+
+import org.jetbrains.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of token authentication, bound from the `security.token` prefix.
+ *
+ * @param enabled Whether the login endpoint issues tokens and requests may authenticate with them.
+ * @param secret The Base64-encoded HMAC key of at least 32 bytes. It must be the same on every node; when not set,
+ *               a random key is generated at startup and tokens stop being valid after a restart.
+ * @param timeToLive How long an issued token is valid. Tokens cannot be revoked, so it should be short.
+ */
+@ConfigurationProperties("security.token")
+public record TokenProperties(
+        @DefaultValue("false") boolean enabled,
+        @Nullable String secret,
+        @DefaultValue("15m") Duration timeToLive
+) {
+}
@@ -0,0 +1,128 @@
+package pl.example.spring.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies signed, self-contained access tokens.
+ *
+ * <p>A token is `payload.signature`, both Base64url-encoded, where the payload is
+ * `expiresAt:authorities:username` (epoch seconds, comma-separated authorities) and the signature is its
+ * HMAC-SHA256. Verifying a token therefore needs neither a user lookup nor a password check.</p>
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "security.token.enabled", havingValue = "true")
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MINIMUM_KEY_LENGTH = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec secret;
+    private final TokenProperties properties;
+
+    public TokenService(TokenProperties properties) {
+        this.properties = properties;
+        this.secret = new SecretKeySpec(key(properties.secret()), ALGORITHM);
+    }
+
+    /**
+     * Issues a token for an authenticated user.
+     *
+     * @param authentication The result of authenticating the user.
+     * @return The signed token.
+     */
+    public @NotNull String issue(@NotNull Authentication authentication) {
+        long expiresAt = Instant.now().plus(properties.timeToLive()).getEpochSecond();
+        String authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+        byte[] payload = (expiresAt + ":" + authorities + ":" + authentication.getName())
+                .getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * Verifies a token and restores the authentication it was issued for.
+     *
+     * @param token The token sent by the client.
+     * @return An {@link Optional} containing the authenticated user, or empty if the token is malformed, forged or
+     * expired.
+     */
+    public @NotNull Optional<Authentication> verify(@NotNull String token) {
+        int separator = token.indexOf('.');
+        if (separator < 0) {
+            return Optional.empty();
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, separator));
+            signature = DECODER.decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            return Optional.empty();
+        }
+
+        String[] fields = new String(payload, StandardCharsets.UTF_8).split(":", 3);
+        if (fields.length != 3 || Instant.ofEpochSecond(Long.parseLong(fields[0])).isBefore(Instant.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(UsernamePasswordAuthenticationToken.authenticated(
+                fields[2], null, AuthorityUtils.commaSeparatedStringToAuthorityList(fields[1])));
+    }
+
+    /**
+     * @return How many seconds an issued token is valid.
+     */
+    public long timeToLiveSeconds() {
+        return properties.timeToLive().toSeconds();
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(secret);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static byte[] key(String configured) {
+        if (configured == null || configured.isBlank()) {
+            log.warn("security.token.secret is not set; tokens are signed with a random key and stop being valid "
+                    + "after a restart or on other nodes");
+            byte[] key = new byte[MINIMUM_KEY_LENGTH];
+            new SecureRandom().nextBytes(key);
+            return key;
+        }
+        byte[] key = Base64.getDecoder().decode(configured);
+        if (key.length < MINIMUM_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "security.token.secret must be at least " + MINIMUM_KEY_LENGTH + " bytes long");
+        }
+        return key;
+    }
+}
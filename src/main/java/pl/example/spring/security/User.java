@@ -1,19 +1,36 @@
 package pl.example.spring.security;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
 
+/**
+ * A user stored in the database.
+ * Users are kept in the `user` region of the Hibernate second-level cache, and {@link DatabaseUserRepository}
+ * resolves usernames through the `user-by-username` query cache region, so authenticating a known user needs no query
+ * while it is cached.
+ */
 @Getter
 @Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity(name = "user_entity")
+@EntityListeners(UserCredentialsListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
 
-    private final String username;
-    private final String password;
+    @NaturalId
+    @Setter(AccessLevel.NONE)
+    private String username;
+    @Setter(AccessLevel.NONE)
+    private String password;
     private String role;
 
     public User(String username, String password, String role) {
@@ -0,0 +1,24 @@
+package pl.example.spring.security;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener removing the cached authentications of a {@link User} whose stored data, such as the password
+ * or role, was changed or who was removed.
+ * Hibernate obtains it from the Spring context, so the {@link AuthenticationCache} can be injected.
+ */
+@Component
+@AllArgsConstructor
+public class UserCredentialsListener {
+
+    private final AuthenticationCache authenticationCache;
+
+    @PostUpdate
+    @PostRemove
+    void credentialsChanged(User user) {
+        authenticationCache.invalidate(user.getUsername());
+    }
+}
@@ -0,0 +1,64 @@
+package pl.example.spring.Item;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.tool.hbm2ddl.SchemaExport;
+import org.hibernate.tool.schema.TargetType;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.EnumSet;
+
+/**
+ * In-memory H2 database with the item tables generated by Hibernate from the {@link CountableItem} and
+ * {@link UncountableItem} mappings, so tests run against the same column types and identity columns as the
+ * application.
+ */
+public class ItemDatabase {
+    private final String url;
+    private final DriverManagerDataSource dataSource;
+
+    public ItemDatabase(String name) {
+        this.url = "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1";
+        this.dataSource = new DriverManagerDataSource(url);
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Drops the item tables if they exist and creates them empty.
+     */
+    public void create() {
+        export(true);
+    }
+
+    /**
+     * Drops the item tables.
+     */
+    public void drop() {
+        export(false);
+    }
+
+    private void export(boolean create) {
+        var registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, url)
+                .build();
+        try {
+            var metadata = new MetadataSources(registry)
+                    .addAnnotatedClass(CountableItem.class)
+                    .addAnnotatedClass(UncountableItem.class)
+                    .buildMetadata();
+            var targets = EnumSet.of(TargetType.DATABASE);
+            if (create) {
+                new SchemaExport().create(targets, metadata);
+            } else {
+                new SchemaExport().drop(targets, metadata);
+            }
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package pl.example.spring.Item;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.example.spring.api.ItemStatistics;
+import pl.example.spring.metrics.StatementRecorder;
+
+import java.util.Optional;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Uncountable item repository backed by JDBC only, for testing aggregates without a JPA context.
+ */
+public class UncountableItemRepositoryAdapter implements UncountableItemRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final UncountableItemRepositoryCustomImpl delegate;
+
+    public UncountableItemRepositoryAdapter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.delegate = new UncountableItemRepositoryCustomImpl(jdbcTemplate, new StatementRecorder(0));
+    }
+
+    @Override
+    public Optional<UncountableItem> findById(long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<UncountableItem> findForUpdateById(long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public UncountableItem save(UncountableItem item) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int deleteItemById(long id) {
+        return jdbcTemplate.update("delete from uncountable_item where id = ?", id);
+    }
+
+    @Override
+    public long count() {
+        return jdbcTemplate.queryForObject("select count(*) from uncountable_item", Long.class);
+    }
+
+    @Override
+    public void forEachValue(int fetchSize, DoubleConsumer action) {
+        delegate.forEachValue(fetchSize, action);
+    }
+
+    @Override
+    public double[] findAllValues() {
+        return delegate.findAllValues();
+    }
+
+    @Override
+    public ItemStatistics statistics() {
+        return delegate.statistics();
+    }
+
+    @Override
+    public ItemStatistics statistics(long fromId, long toId) {
+        return delegate.statistics(fromId, toId);
+    }
+
+    @Override
+    public long[] histogram(double min, double max, int buckets) {
+        return delegate.histogram(min, max, buckets);
+    }
+}
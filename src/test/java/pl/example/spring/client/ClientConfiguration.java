@@ -1,12 +1,14 @@
 package pl.example.spring.client;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @Configuration
 @EnableJpaRepositories(basePackages = "pl.example.spring.client")
+@EnableConfigurationProperties(ClientCacheProperties.class)
 public class ClientConfiguration {
     @ConditionalOnMissingBean(ClientService.class)
     @Import({ClientServiceImpl.class})
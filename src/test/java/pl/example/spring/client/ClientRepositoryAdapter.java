@@ -4,11 +4,16 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import pl.example.spring.api.ClientResponse;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 public class ClientRepositoryAdapter implements ClientRepository {
     private final Map<Long, Client> clients = new ConcurrentHashMap<>();
@@ -22,6 +27,23 @@ public class ClientRepositoryAdapter implements ClientRepository {
         return Optional.of(client);
     }
 
+    @Override
+    public Optional<Long> findVersionById(long id) {
+        return findById(id).map(Client::getVersion);
+    }
+
+    @Override
+    public Optional<Client> findByName(String name) {
+        return clients.values().stream().filter(it -> it.getName().equals(name)).findFirst();
+    }
+
+    @Override
+    public List<Client> findAllById(Iterable<Long> ids) {
+        var result = new ArrayList<Client>();
+        ids.forEach(id -> findById(id).ifPresent(result::add));
+        return result;
+    }
+
     @Override
     public List<Client> findAll() {
         return clients.values().stream().toList();
@@ -32,11 +54,69 @@ public class ClientRepositoryAdapter implements ClientRepository {
         return new PageImpl<>(clients.values().stream().toList(), pageable, 1);
     }
 
+    @Override
+    public void forEachClient(int fetchSize, Consumer<Client> action) {
+        clients.values().forEach(action);
+    }
+
+    @Override
+    public Page<ClientResponse> findAllAbbreviated(Pageable pageable) {
+        return findAll(pageable).map(ClientRepositoryAdapter::toResponse);
+    }
+
+    @Override
+    public List<ClientResponse> findAfter(ClientCursor cursor, int limit) {
+        Comparator<Client> comparator = cursor.sortKey() == ClientSortKey.ID
+                ? Comparator.comparingLong(Client::getId)
+                : Comparator.comparing(Client::getName).thenComparingLong(Client::getId);
+        var ordering = cursor.direction().isAscending() ? comparator : comparator.reversed();
+        var position = cursor.isFirst() ? null : Client.builder().id(cursor.id()).name(cursor.name()).build();
+        return clients.values().stream()
+                .filter(it -> position == null || ordering.compare(it, position) > 0)
+                .sorted(ordering)
+                .limit(limit)
+                .map(ClientRepositoryAdapter::toResponse)
+                .toList();
+    }
+
+    @Override
+    public long count() {
+        return clients.size();
+    }
+
     @Override
     public void delete(Client client) {
         clients.remove(client.getId());
     }
 
+    @Override
+    public int deleteClientById(long id) {
+        return clients.remove(id) == null ? 0 : 1;
+    }
+
+    @Override
+    public int updateNameById(long id, String name) {
+        var client = clients.get(id);
+        if (client == null) {
+            return 0;
+        }
+        if (clients.values().stream().anyMatch(it -> it.getId() != id && it.getName().equals(name))) {
+            throw new DataIntegrityViolationException("");
+        }
+        client.setName(name);
+        client.setVersion(client.getVersion() + 1);
+        return 1;
+    }
+
+    @Override
+    public int updateNameByIdAndVersion(long id, long version, String name) {
+        var client = clients.get(id);
+        if (client == null || client.getVersion() != version) {
+            return 0;
+        }
+        return updateNameById(id, name);
+    }
+
     @Override
     public Client save(Client client) {
         var values = clients.values();
@@ -45,7 +125,25 @@ public class ClientRepositoryAdapter implements ClientRepository {
                 .anyMatch( it -> it.getName().equals(client.getName()))) {
             throw new DataIntegrityViolationException("");
         }
-        return clients.put(client.getId(), client);
+        if (clients.containsKey(client.getId())) {
+            client.setVersion(client.getVersion() + 1);
+        }
+        clients.put(client.getId(), client);
+        return client;
+    }
+
+    @Override
+    public List<Client> insertAll(List<Client> clients) {
+        clients.forEach(this::save);
+        return clients;
+    }
+
+    @Override
+    public List<String> findExistingNames(Collection<String> names) {
+        return clients.values().stream()
+                .map(Client::getName)
+                .filter(names::contains)
+                .toList();
     }
 
     @Override
@@ -61,4 +159,8 @@ public class ClientRepositoryAdapter implements ClientRepository {
     public void deleteAll() {
         clients.clear();
     }
+
+    private static ClientResponse toResponse(Client client) {
+        return new ClientResponse(client.getId(), client.getName(), client.getMail(), client.getAddress().getCity());
+    }
 }
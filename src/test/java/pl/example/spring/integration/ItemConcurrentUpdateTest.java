@@ -0,0 +1,55 @@
+package pl.example.spring.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import pl.example.spring.Application;
+import pl.example.spring.Item.CountableItemRepository;
+import pl.example.spring.Item.ItemKind;
+import pl.example.spring.Item.ItemService;
+import pl.example.spring.api.ItemRequest;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(classes = Application.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class ItemConcurrentUpdateTest {
+    private static final int THREADS = 8;
+    private static final int UPDATES = 25;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private CountableItemRepository countableItemRepository;
+
+    @Test
+    void concurrentUpdatesOfOneItemKeepTotalsInSync() throws Exception {
+        long id = itemService.create(ItemKind.COUNTABLE, new ItemRequest(BigDecimal.ZERO)).id();
+
+        try (var executor = Executors.newFixedThreadPool(THREADS)) {
+            var start = new CountDownLatch(1);
+            var updates = IntStream.range(0, THREADS).mapToObj(thread -> executor.submit(() -> {
+                start.await();
+                for (int i = 1; i <= UPDATES; i++) {
+                    itemService.update(ItemKind.COUNTABLE, id, new ItemRequest(BigDecimal.valueOf(thread * 1000L + i)));
+                }
+                return null;
+            })).toList();
+            start.countDown();
+            for (Future<?> update : updates) {
+                update.get();
+            }
+        }
+
+        assertEquals(countableItemRepository.statistics().sum().longValue(),
+                itemService.total(ItemKind.COUNTABLE).sum().longValue());
+    }
+}
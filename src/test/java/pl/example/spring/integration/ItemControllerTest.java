@@ -0,0 +1,107 @@
+package pl.example.spring.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import pl.example.spring.Application;
+import pl.example.spring.Item.CountableItemRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = Application.class)
+@ActiveProfiles("test")
+class ItemControllerTest {
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CountableItemRepository countableItemRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setup() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(this.webApplicationContext).build();
+    }
+
+    @Test
+    void createsReadsUpdatesAndDeletesItem() throws Exception {
+        var created = mockMvc.perform(post("/api/item/countable")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"value\": 5}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.value").value(5))
+                .andReturn();
+        long id = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+
+        mockMvc.perform(get("/api/item/countable/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.value").value(5));
+
+        mockMvc.perform(put("/api/item/countable/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"value\": 7}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/item/countable/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.value").value(7));
+
+        mockMvc.perform(put("/api/item/countable/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"value\": 2.5}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(delete("/api/item/countable/{id}", id))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/item/countable/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void missingItemsAreNotFound() throws Exception {
+        mockMvc.perform(get("/api/item/uncountable/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(put("/api/item/uncountable/{id}", Long.MAX_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"value\": 1.5}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/item/uncountable/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void malformedBulkBodyIsRejectedAndRolledBack() throws Exception {
+        long before = countableItemRepository.count();
+
+        mockMvc.perform(post("/api/item/countable/bulk")
+                        .contentType("text/csv")
+                        .content("value\n1\n2\nabc\n"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(before, countableItemRepository.count());
+
+        mockMvc.perform(post("/api/item/countable/bulk")
+                        .contentType("text/csv")
+                        .content("value\n1\n2\n"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.rows").value(2));
+
+        assertEquals(before + 2, countableItemRepository.count());
+    }
+}
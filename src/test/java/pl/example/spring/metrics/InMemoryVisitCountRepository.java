@@ -0,0 +1,61 @@
+package pl.example.spring.metrics;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+public class InMemoryVisitCountRepository implements VisitCountRepository {
+    private final Map<String, VisitCount> visitCounts = new HashMap<>();
+    private boolean failing;
+
+    /**
+     * Makes every following call throw a {@link org.springframework.dao.DataAccessException}, as when the database
+     * is unavailable.
+     */
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    @Override
+    public Optional<VisitCount> findById(String node) {
+        check();
+        return Optional.ofNullable(visitCounts.get(node));
+    }
+
+    @Override
+    public VisitCount save(VisitCount visitCount) {
+        check();
+        visitCounts.put(visitCount.getNode(), visitCount);
+        return visitCount;
+    }
+
+    @Override
+    public int addVisits(String node, long visits, Instant updatedAt) {
+        check();
+        var visitCount = visitCounts.get(node);
+        if (visitCount == null) {
+            return 0;
+        }
+        visitCount.setVisits(visitCount.getVisits() + visits);
+        visitCount.setUpdatedAt(updatedAt);
+        return 1;
+    }
+
+    @Override
+    public long sumVisitsOfOtherNodes(String node) {
+        check();
+        return visitCounts.values().stream()
+                .filter(visitCount -> !visitCount.getNode().equals(node))
+                .mapToLong(VisitCount::getVisits)
+                .sum();
+    }
+
+    private void check() {
+        if (failing) {
+            throw new DataAccessResourceFailureException("Database is unavailable");
+        }
+    }
+}
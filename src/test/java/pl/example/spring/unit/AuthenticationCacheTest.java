@@ -0,0 +1,82 @@
+package pl.example.spring.unit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import pl.example.spring.security.AuthenticationCache;
+import pl.example.spring.security.AuthenticationCacheProperties;
+import pl.example.spring.security.CachingAuthenticationManager;
+import pl.example.spring.security.CustomUserDetailsService;
+import pl.example.spring.security.InMemoryUserRepository;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthenticationCacheTest {
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    private AuthenticationCache authenticationCache;
+    private AuthenticationManager authenticationManager;
+
+    @BeforeEach
+    public void setup() {
+        var provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(new CustomUserDetailsService(new InMemoryUserRepository()));
+        provider.setPasswordEncoder(NoOpPasswordEncoder.getInstance());
+        var delegate = new ProviderManager(provider);
+
+        authenticationCache = new AuthenticationCache(
+                new AuthenticationCacheProperties(100, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+        authenticationManager = new CachingAuthenticationManager(authentication -> {
+            verifications.incrementAndGet();
+            return delegate.authenticate(authentication);
+        }, authenticationCache);
+    }
+
+    @Test
+    public void repeatedAuthenticationIsVerifiedOnce() {
+        var first = authenticationManager.authenticate(credentials("user", "password"));
+        var second = authenticationManager.authenticate(credentials("user", "password"));
+
+        assertTrue(second.isAuthenticated());
+        assertEquals(first.getName(), second.getName());
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    public void wrongPasswordIsNotServedFromCache() {
+        authenticationManager.authenticate(credentials("user", "password"));
+
+        assertThrows(BadCredentialsException.class,
+                () -> authenticationManager.authenticate(credentials("user", "wrong")));
+        assertThrows(BadCredentialsException.class,
+                () -> authenticationManager.authenticate(credentials("user", "wrong")));
+        assertEquals(3, verifications.get());
+    }
+
+    @Test
+    public void invalidatedUserIsVerifiedAgain() {
+        authenticationManager.authenticate(credentials("user", "password"));
+        authenticationManager.authenticate(credentials("admin", "admin"));
+
+        authenticationCache.invalidate("user");
+        authenticationManager.authenticate(credentials("user", "password"));
+        authenticationManager.authenticate(credentials("admin", "admin"));
+
+        assertEquals(3, verifications.get());
+    }
+
+    private static UsernamePasswordAuthenticationToken credentials(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
@@ -1,16 +1,38 @@
 package pl.example.spring.unit;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
 import pl.example.spring.api.ClientAddRequest;
+import pl.example.spring.api.ClientBatchItemResult;
+import pl.example.spring.client.Client;
+import pl.example.spring.client.ClientCache;
+import pl.example.spring.client.ClientCacheProperties;
+import pl.example.spring.client.ClientCursor;
 import pl.example.spring.client.ClientMapperAdapter;
 import pl.example.spring.client.ClientRepositoryAdapter;
 import pl.example.spring.client.ClientService;
 import pl.example.spring.client.ClientServiceImpl;
+import pl.example.spring.client.ClientSortKey;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 
 class ClientTest {
@@ -20,7 +42,12 @@ class ClientTest {
 
     @BeforeEach
     public void setup() {
-        clientService = new ClientServiceImpl(clientRepository, new ClientMapperAdapter());
+        clientService = new ClientServiceImpl(
+                clientRepository,
+                new ClientMapperAdapter(),
+                new ClientCache(new ClientCacheProperties(100, Duration.ofMinutes(1)), new SimpleMeterRegistry()),
+                Validation.buildDefaultValidatorFactory().getValidator()
+        );
         clientRepository.deleteAll();
 
         clientService.create(ClientAddRequest.builder()
@@ -100,4 +127,185 @@ class ClientTest {
         assertEquals(initialSize, clients.size());
         assertEquals(client.getName(), name);
     }
+
+    @Test
+    public void forEachVisitsEveryClient() {
+        var visited = new ArrayList<Client>();
+
+        clientService.forEach(visited::add);
+
+        assertEquals(clientService.getAll().size(), visited.size());
+    }
+
+    @Test
+    public void sliceThroughAllClientsByName() {
+        for (var name : List.of("e", "c", "d", "b")) {
+            clientService.create(ClientAddRequest.builder()
+                    .name(name)
+                    .mail("bbc@abc.com")
+                    .buildingNumber(1)
+                    .city("Warszawa")
+                    .postalCode("01-222")
+                    .build()
+            );
+        }
+
+        var names = new ArrayList<String>();
+        var cursor = ClientCursor.first(ClientSortKey.NAME, Sort.Direction.ASC);
+        var slice = clientService.getAbbreviatedDataSlice(cursor, 2, true);
+        slice.content().forEach(it -> names.add(it.name()));
+        while (slice.hasNext()) {
+            slice = clientService.getAbbreviatedDataSlice(ClientCursor.decode(slice.next()), 2, false);
+            slice.content().forEach(it -> names.add(it.name()));
+            assertNull(slice.totalElements());
+        }
+
+        assertEquals(List.of("abc", "b", "c", "d", "e"), names);
+        assertFalse(slice.hasNext());
+        assertNull(slice.next());
+    }
+
+    @Test
+    public void sliceWithInvalidSize() {
+        var cursor = ClientCursor.first(ClientSortKey.ID, Sort.Direction.ASC);
+
+        assertThrows(IllegalArgumentException.class, () -> clientService.getAbbreviatedDataSlice(cursor, 0, false));
+    }
+
+    @Test
+    public void getReturnsCachedClient() {
+        var id = clientService.getAll().getFirst().getId();
+
+        assertSame(clientService.get(id), clientService.get(id));
+    }
+
+    @Test
+    public void getAfterDeleteDoesNotReturnCachedClient() {
+        var id = clientService.getAll().getFirst().getId();
+        clientService.get(id);
+
+        clientService.delete(id);
+
+        assertThrows(NoSuchElementException.class, () -> clientService.get(id));
+    }
+
+    @Test
+    public void createAllReportsResultPerClient() {
+        var valid = ClientAddRequest.builder()
+                .name("new")
+                .mail("new@abc.com")
+                .buildingNumber(1)
+                .city("Warszawa")
+                .postalCode("01-222")
+                .build();
+        var invalidPostalCode = ClientAddRequest.builder()
+                .name("other")
+                .mail("other@abc.com")
+                .buildingNumber(1)
+                .city("Warszawa")
+                .postalCode("01222")
+                .build();
+        var existingName = ClientAddRequest.builder()
+                .name("abc")
+                .mail("abc@abc.com")
+                .buildingNumber(1)
+                .city("Warszawa")
+                .postalCode("01-222")
+                .build();
+
+        var results = clientService.createAll(Arrays.asList(valid, invalidPostalCode, existingName, valid, null));
+
+        assertEquals(
+                List.of(
+                        ClientBatchItemResult.Status.CREATED,
+                        ClientBatchItemResult.Status.INVALID,
+                        ClientBatchItemResult.Status.FAILED,
+                        ClientBatchItemResult.Status.INVALID,
+                        ClientBatchItemResult.Status.INVALID
+                ),
+                results.stream().map(ClientBatchItemResult::status).toList()
+        );
+        assertEquals(4, results.getLast().index());
+        assertEquals("new", clientService.get(results.getFirst().id()).getName());
+        assertEquals(2, clientService.getAll().size());
+    }
+
+    @Test
+    public void updateNameOfMissingClient() {
+        assertThrows(NoSuchElementException.class, () -> clientService.updateName("name", -1));
+    }
+
+    @Test
+    public void updatesIncrementVersion() {
+        var client = clientService.getAll().getFirst();
+        var version = clientService.getVersion(client.getId());
+
+        clientService.updateName("renamed", client.getId(), version);
+
+        assertEquals(version + 1, clientService.getVersion(client.getId()));
+    }
+
+    @Test
+    public void updateWithStaleVersionIsRejected() {
+        var client = clientService.getAll().getFirst();
+        var version = clientService.getVersion(client.getId());
+        clientService.updateName("renamed", client.getId());
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> clientService.updateName("stale", client.getId(), version));
+        assertThrows(NoSuchElementException.class, () -> clientService.updateName("stale", -1, version));
+        assertEquals("renamed", clientService.get(client.getId()).getName());
+    }
+
+    @Test
+    public void repeatedGetByNameDoesNotReachRepository() {
+        var repository = spy(clientRepository);
+        var service = new ClientServiceImpl(
+                repository,
+                new ClientMapperAdapter(),
+                new ClientCache(new ClientCacheProperties(100, Duration.ofMinutes(1)), new SimpleMeterRegistry()),
+                Validation.buildDefaultValidatorFactory().getValidator()
+        );
+        var client = service.getByName("abc");
+        clearInvocations(repository);
+
+        assertSame(client, service.getByName("abc"));
+        assertSame(client, service.get(client.getId()));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    public void getByNameFindsRenamedClient() {
+        var client = clientService.getByName("abc");
+        clientService.updateName("renamed", client.getId());
+
+        assertEquals(client.getId(), clientService.getByName("renamed").getId());
+        assertThrows(NoSuchElementException.class, () -> clientService.getByName("abc"));
+    }
+
+    @Test
+    public void deleteMissingClient() {
+        assertThrows(NoSuchElementException.class, () -> clientService.delete(-1));
+    }
+
+    @Test
+    public void getAllByIdsKeepsOrderAndReportsMissing() {
+        clientService.create(ClientAddRequest.builder()
+                .name("second")
+                .mail("bbc@abc.com")
+                .buildingNumber(1)
+                .city("Warszawa")
+                .postalCode("01-222")
+                .build()
+        );
+        var clients = clientService.getAll();
+        var first = clients.get(0).getId();
+        var second = clients.get(1).getId();
+        clientService.get(first);
+
+        var result = clientService.getAll(List.of(second, -1L, first, second));
+
+        assertEquals(List.of(second, first), result.clients().stream().map(Client::getId).toList());
+        assertEquals(List.of(-1L), result.missing());
+    }
 }
@@ -0,0 +1,135 @@
+package pl.example.spring.unit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.example.spring.api.ClientAddRequest;
+import pl.example.spring.api.ClientOperationStatus;
+import pl.example.spring.client.ClientCache;
+import pl.example.spring.client.ClientCacheProperties;
+import pl.example.spring.client.ClientMapperAdapter;
+import pl.example.spring.client.ClientRepositoryAdapter;
+import pl.example.spring.client.ClientService;
+import pl.example.spring.client.ClientServiceImpl;
+import pl.example.spring.client.ClientWriteQueue;
+import pl.example.spring.client.ClientWriteQueueProperties;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClientWriteQueueTest {
+    private final ClientRepositoryAdapter clientRepository = new ClientRepositoryAdapter();
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private final CountDownLatch writerBlocked = new CountDownLatch(1);
+    private final CountDownLatch writerReleased = new CountDownLatch(1);
+
+    private ClientService clientService;
+    private ClientWriteQueue clientWriteQueue;
+
+    @BeforeEach
+    public void setup() {
+        clientRepository.deleteAll();
+        clientService = new ClientServiceImpl(
+                clientRepository,
+                new ClientMapperAdapter(),
+                new ClientCache(new ClientCacheProperties(100, Duration.ofMinutes(1)), new SimpleMeterRegistry()),
+                validatorFactory.getValidator()
+        );
+        // Holds the writer in its first transaction until the test releases it
+        var transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            writerBlocked.countDown();
+            writerReleased.await();
+            return null;
+        });
+        clientWriteQueue = new ClientWriteQueue(
+                clientService,
+                new TransactionTemplate(transactionManager),
+                validatorFactory.getValidator(),
+                new ClientWriteQueueProperties(true, 2, 10, Duration.ofMinutes(1)),
+                new SimpleMeterRegistry()
+        );
+        clientWriteQueue.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        writerReleased.countDown();
+        clientWriteQueue.stop();
+        validatorFactory.close();
+    }
+
+    @Test
+    public void updatesOfSameClientAreCoalesced() throws InterruptedException {
+        var id = clientService.create(request("abc")).getId();
+        var blocking = clientWriteQueue.create(request("first"));
+        assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+
+        var edit = clientWriteQueue.edit(request("edited"), id);
+        var rename = clientWriteQueue.updateName("renamed", id);
+        var create = clientWriteQueue.create(request("second"));
+        assertThrows(RejectedExecutionException.class, () -> clientWriteQueue.create(request("third")));
+        writerReleased.countDown();
+
+        assertEquals(ClientOperationStatus.State.COMMITTED, awaitDone(blocking.operationId()).state());
+        assertEquals(ClientOperationStatus.State.COMMITTED, awaitDone(edit.operationId()).state());
+        assertEquals(ClientOperationStatus.State.COMMITTED, awaitDone(rename.operationId()).state());
+        assertEquals(ClientOperationStatus.State.COMMITTED, awaitDone(create.operationId()).state());
+        assertEquals("renamed", clientService.get(id).getName());
+        assertEquals("edited@example.com", clientService.get(id).getMail());
+    }
+
+    @Test
+    public void updateOfMissingClientFails() throws InterruptedException {
+        writerReleased.countDown();
+        var status = clientWriteQueue.updateName("renamed", -1);
+
+        var done = awaitDone(status.operationId());
+        assertEquals(ClientOperationStatus.State.FAILED, done.state());
+        assertTrue(done.message().contains("-1"));
+    }
+
+    @Test
+    public void invalidClientIsRejectedBeforeQueueing() {
+        assertThrows(ConstraintViolationException.class, () -> clientWriteQueue.create(request("")));
+        assertThrows(IllegalArgumentException.class, () -> clientWriteQueue.updateName(" ", 1));
+    }
+
+    private ClientOperationStatus awaitDone(String operationId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            var status = clientWriteQueue.status(operationId).orElseThrow();
+            if (status.state() != ClientOperationStatus.State.QUEUED) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Operation " + operationId + " was not processed");
+    }
+
+    private static ClientAddRequest request(String name) {
+        return ClientAddRequest.builder()
+                .name(name)
+                .mail(name + "@example.com")
+                .street("ulica")
+                .buildingNumber(1)
+                .city("Warszawa")
+                .postalCode("01-222")
+                .build();
+    }
+}
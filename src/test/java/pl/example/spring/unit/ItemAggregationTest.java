@@ -0,0 +1,108 @@
+package pl.example.spring.unit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.example.spring.Item.CountableItemRepositoryAdapter;
+import pl.example.spring.Item.ItemAggregationCache;
+import pl.example.spring.Item.ItemAggregationProperties;
+import pl.example.spring.Item.ItemAggregationService;
+import pl.example.spring.Item.ItemDatabase;
+import pl.example.spring.Item.ItemKind;
+import pl.example.spring.Item.UncountableItemRepositoryAdapter;
+import pl.example.spring.api.ItemHistogramBucket;
+import pl.example.spring.api.ItemStatistics;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ItemAggregationTest {
+    private final ItemDatabase database = new ItemDatabase("item-aggregation");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(database.dataSource());
+
+    private ItemAggregationCache itemAggregationCache;
+
+    @BeforeEach
+    public void setup() {
+        database.create();
+        jdbcTemplate.update("insert into countable_item (id, \"value\") values (1, 0), (2, 4), (3, 5), (4, 10)");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        database.drop();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void computesStatisticsAndHistogram(boolean columnar) {
+        var service = service(columnar);
+
+        assertEquals(new ItemStatistics(4, 19L, 0L, 10L, 4.75), service.statistics(ItemKind.COUNTABLE));
+        assertEquals(
+                List.of(new ItemHistogramBucket(0, 5, 2), new ItemHistogramBucket(5, 10, 2)),
+                service.histogram(ItemKind.COUNTABLE, 2, null, null)
+        );
+        assertEquals(
+                List.of(new ItemHistogramBucket(4, 5, 2)),
+                service.histogram(ItemKind.COUNTABLE, 1, 4.0, 5.0)
+        );
+        assertEquals(new ItemStatistics(0, 0.0, null, null, null), service.statistics(ItemKind.UNCOUNTABLE));
+        assertEquals(List.of(), service.histogram(ItemKind.UNCOUNTABLE, 10, null, null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void writesInvalidateCachedResults(boolean columnar) {
+        var service = service(columnar);
+        service.statistics(ItemKind.COUNTABLE);
+        jdbcTemplate.update("insert into countable_item (id, \"value\") values (5, 1)");
+
+        assertEquals(4, service.statistics(ItemKind.COUNTABLE).count());
+        itemAggregationCache.written(ItemKind.UNCOUNTABLE);
+        assertEquals(4, service.statistics(ItemKind.COUNTABLE).count());
+        itemAggregationCache.written(ItemKind.COUNTABLE);
+        assertEquals(5, service.statistics(ItemKind.COUNTABLE).count());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void sumsCountableValuesBeyondLongRange(boolean columnar) {
+        var service = service(columnar);
+        jdbcTemplate.update("insert into countable_item (id, \"value\") values (5, ?), (6, ?)",
+                Long.MAX_VALUE, Long.MAX_VALUE);
+
+        var statistics = service.statistics(ItemKind.COUNTABLE);
+
+        var expected = BigDecimal.valueOf(Long.MAX_VALUE).multiply(BigDecimal.TWO).add(BigDecimal.valueOf(19));
+        assertEquals(0, expected.compareTo((BigDecimal) statistics.sum()));
+        assertEquals(Long.MAX_VALUE, statistics.max());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void rejectsInvalidHistograms(boolean columnar) {
+        var service = service(columnar);
+
+        assertThrows(IllegalArgumentException.class, () -> service.histogram(ItemKind.COUNTABLE, 0, null, null));
+        assertThrows(IllegalArgumentException.class, () -> service.histogram(ItemKind.COUNTABLE, 10, 5.0, 1.0));
+    }
+
+    private ItemAggregationService service(boolean columnar) {
+        var properties = new ItemAggregationProperties(100, Duration.ofMinutes(1), columnar, 1000);
+        itemAggregationCache = new ItemAggregationCache(properties, new SimpleMeterRegistry());
+        return new ItemAggregationService(
+                new CountableItemRepositoryAdapter(jdbcTemplate),
+                new UncountableItemRepositoryAdapter(jdbcTemplate),
+                itemAggregationCache,
+                properties
+        );
+    }
+}
@@ -0,0 +1,102 @@
+package pl.example.spring.unit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.example.spring.Item.ItemBulkLoader;
+import pl.example.spring.Item.ItemDatabase;
+import pl.example.spring.Item.ItemFormat;
+import pl.example.spring.Item.ItemKind;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ItemBulkLoaderTest {
+    private final ItemDatabase database = new ItemDatabase("item-bulk-loader");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(database.dataSource());
+    private final ItemBulkLoader loader = new ItemBulkLoader(database.dataSource());
+
+    @BeforeEach
+    public void setup() {
+        database.create();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        database.drop();
+    }
+
+    @Test
+    public void loadsCsvWithHeaderAndBlankLines() throws IOException {
+        var body = "value\r\n3\r\n\r\n-9223372036854775808\n 9007199254740993 \n";
+
+        assertEquals(
+                new ItemBulkLoader.Loaded(3, Long.MIN_VALUE + 9007199254740996L, 0),
+                loader.load(ItemKind.COUNTABLE, ItemFormat.CSV, input(body))
+        );
+        assertEquals(
+                List.of(Long.MIN_VALUE, 3L, 9007199254740993L),
+                jdbcTemplate.queryForList("select \"value\" from countable_item order by \"value\"", Long.class)
+        );
+    }
+
+    @Test
+    public void loadsNdjsonInBatches() throws IOException {
+        var body = IntStream.range(0, 2500)
+                .mapToObj(i -> "{\"id\": " + i + ", \"value\": " + i + ".5}")
+                .collect(Collectors.joining("\n"));
+
+        assertEquals(
+                new ItemBulkLoader.Loaded(2500, 0, 2500 * 2500 / 2.0),
+                loader.load(ItemKind.UNCOUNTABLE, ItemFormat.NDJSON, input(body))
+        );
+        assertEquals(2500 * 2500 / 2.0,
+                jdbcTemplate.queryForObject("select sum(\"value\") from uncountable_item", Double.class));
+    }
+
+    @Test
+    public void parsesDecimalValuesExactly() throws IOException {
+        var body = "0.1\n-2.5e-3\n1E2\n0.30000000000000004\n";
+
+        loader.load(ItemKind.UNCOUNTABLE, ItemFormat.CSV, input(body));
+        assertEquals(
+                List.of(-2.5e-3, 0.1, 0.30000000000000004, 100.0),
+                jdbcTemplate.queryForList("select \"value\" from uncountable_item order by \"value\"", Double.class)
+        );
+    }
+
+    @Test
+    public void rejectsMalformedLines() {
+        assertThrows(IllegalArgumentException.class,
+                () -> loader.load(ItemKind.COUNTABLE, ItemFormat.CSV, input("1\n2.5\n")));
+        assertThrows(IllegalArgumentException.class,
+                () -> loader.load(ItemKind.COUNTABLE, ItemFormat.CSV, input("9223372036854775808")));
+        assertThrows(IllegalArgumentException.class,
+                () -> loader.load(ItemKind.UNCOUNTABLE, ItemFormat.CSV, input("NaN")));
+        assertThrows(IllegalArgumentException.class,
+                () -> loader.load(ItemKind.UNCOUNTABLE, ItemFormat.CSV, input("1e400")));
+        assertThrows(IllegalArgumentException.class,
+                () -> loader.load(ItemKind.UNCOUNTABLE, ItemFormat.NDJSON, input("{\"value\": -1E400}")));
+        assertThrows(IllegalArgumentException.class,
+                () -> loader.load(ItemKind.UNCOUNTABLE, ItemFormat.NDJSON, input("{\"amount\": 1}")));
+    }
+
+    @Test
+    public void rejectsCountableSumOutOfRange() {
+        var e = assertThrows(IllegalArgumentException.class,
+                () -> loader.load(ItemKind.COUNTABLE, ItemFormat.CSV, input("9223372036854775807\n1\n")));
+        assertEquals("Line 2: Sum of the countable values is out of range", e.getMessage());
+    }
+
+    private static ByteArrayInputStream input(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,116 @@
+package pl.example.spring.unit;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.example.spring.Item.ItemKind;
+import pl.example.spring.Item.ItemPartitionManager;
+import pl.example.spring.Item.ItemPartitioningProperties;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemPartitionManagerTest {
+    private static final long PARTITION_SIZE = 10;
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    private ItemPartitionManager manager;
+
+    @BeforeAll
+    public static void start() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterAll
+    public static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    public void setup() {
+        manager = new ItemPartitionManager(postgres.getPostgresDatabase(),
+                new ItemPartitioningProperties(true, PARTITION_SIZE, 1, Duration.ofMinutes(10)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("drop table if exists countable_item, uncountable_item");
+    }
+
+    @Test
+    public void createsMissingTablesPartitioned() {
+        manager.initialize();
+
+        assertEquals(List.of("countable_item_p0", "countable_item_p1"), manager.partitions(ItemKind.COUNTABLE));
+        assertEquals(List.of("uncountable_item_p0", "uncountable_item_p1"), manager.partitions(ItemKind.UNCOUNTABLE));
+        assertEquals(1L, insertCountable(5));
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "insert into uncountable_item (\"value\") values (0.5) returning id", Long.class));
+    }
+
+    @Test
+    public void attachesExistingTableAsLegacyPartition() {
+        jdbcTemplate.execute("create table countable_item (id bigint generated by default as identity primary key, "
+                + "\"value\" bigint not null)");
+        jdbcTemplate.update("insert into countable_item (\"value\") values (1), (2), (3)");
+
+        manager.initialize();
+
+        // The legacy partition keeps one partition of headroom above the highest id
+        assertEquals(List.of("countable_item_legacy", "countable_item_p2", "countable_item_p3"),
+                manager.partitions(ItemKind.COUNTABLE));
+        assertEquals(6L, jdbcTemplate.queryForObject("select sum(\"value\") from countable_item", Long.class));
+        assertEquals(20L, insertCountable(4));
+        assertEquals(3L, jdbcTemplate.queryForObject("select count(*) from countable_item_legacy", Long.class));
+        assertEquals(1L, jdbcTemplate.queryForObject("select count(*) from countable_item_p2", Long.class));
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "select count(*) from pg_constraint where conname = 'countable_item_legacy_bound'", Long.class));
+
+        // A second start finds the table partitioned and leaves it as it is
+        manager.initialize();
+        assertEquals(List.of("countable_item_legacy", "countable_item_p2", "countable_item_p3"),
+                manager.partitions(ItemKind.COUNTABLE));
+    }
+
+    @Test
+    public void resumesInterruptedMigrationWithItsBound() {
+        jdbcTemplate.execute("create table countable_item (id bigint generated by default as identity primary key, "
+                + "\"value\" bigint not null)");
+        jdbcTemplate.update("insert into countable_item (\"value\") values (1), (2), (3)");
+        jdbcTemplate.execute("alter table countable_item add constraint countable_item_legacy_bound "
+                + "check (id < 30) not valid");
+
+        manager.initialize();
+
+        assertEquals(List.of("countable_item_legacy", "countable_item_p3", "countable_item_p4"),
+                manager.partitions(ItemKind.COUNTABLE));
+        assertEquals(30L, insertCountable(4));
+    }
+
+    @Test
+    public void createsPartitionsAheadOfNewIds() {
+        manager.initialize();
+        jdbcTemplate.update("insert into countable_item (\"value\") select 1 from generate_series(1, 15)");
+
+        manager.roll();
+
+        assertEquals(List.of("countable_item_p0", "countable_item_p1", "countable_item_p2"),
+                manager.partitions(ItemKind.COUNTABLE));
+        assertEquals(16L, insertCountable(1));
+    }
+
+    private long insertCountable(long value) {
+        return jdbcTemplate.queryForObject(
+                "insert into countable_item (\"value\") values (?) returning id", Long.class, value);
+    }
+}
@@ -0,0 +1,74 @@
+package pl.example.spring.unit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.example.spring.Item.CountableItemRepositoryCustomImpl;
+import pl.example.spring.Item.ItemDatabase;
+import pl.example.spring.Item.UncountableItemRepositoryCustomImpl;
+import pl.example.spring.api.ItemStatistics;
+import pl.example.spring.metrics.StatementRecorder;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemRepositoryTest {
+    private final ItemDatabase database = new ItemDatabase("items");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(database.dataSource());
+    private final StatementRecorder statementRecorder = new StatementRecorder(10);
+
+    @BeforeEach
+    public void setup() {
+        database.create();
+        jdbcTemplate.update("insert into countable_item (id, \"value\") values (1, 3), (2, 9007199254740993), (3, -4)");
+        jdbcTemplate.update("insert into uncountable_item (id, \"value\") values (1, 0.5), (2, -1.25)");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        database.drop();
+    }
+
+    @Test
+    public void readsCountableValuesWithoutLosingPrecision() {
+        var values = new CountableItemRepositoryCustomImpl(jdbcTemplate, statementRecorder).findAllValues();
+
+        Arrays.sort(values);
+        assertArrayEquals(new long[]{-4, 3, 9007199254740993L}, values);
+    }
+
+    @Test
+    public void readsUncountableValues() {
+        var values = new UncountableItemRepositoryCustomImpl(jdbcTemplate, statementRecorder).findAllValues();
+
+        Arrays.sort(values);
+        assertArrayEquals(new double[]{-1.25, 0.5}, values);
+    }
+
+    @Test
+    public void computesStatisticsWithinIdRange() {
+        var repository = new CountableItemRepositoryCustomImpl(jdbcTemplate, statementRecorder);
+
+        assertEquals(new ItemStatistics(1, -4L, -4L, -4L, -4.0), repository.statistics(3, 10));
+        assertEquals(new ItemStatistics(0, 0L, null, null, null), repository.statistics(4, 10));
+        assertEquals(new ItemStatistics(1, -1.25, -1.25, -1.25, -1.25),
+                new UncountableItemRepositoryCustomImpl(jdbcTemplate, statementRecorder).statistics(2, 3));
+    }
+
+    @Test
+    public void reportsStatementsToRecorder() {
+        var repository = new CountableItemRepositoryCustomImpl(jdbcTemplate, statementRecorder);
+
+        try (var recording = statementRecorder.start()) {
+            repository.statistics();
+            repository.histogram(-4, 4, 2);
+            repository.findAllValues();
+
+            assertEquals(3, recording.count());
+            assertEquals("select \"value\" from countable_item", recording.statements().get(2));
+        }
+    }
+}
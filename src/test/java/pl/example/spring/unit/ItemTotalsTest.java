@@ -0,0 +1,100 @@
+package pl.example.spring.unit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.example.spring.Item.CountableItemRepositoryAdapter;
+import pl.example.spring.Item.ItemDatabase;
+import pl.example.spring.Item.ItemKind;
+import pl.example.spring.Item.ItemTotals;
+import pl.example.spring.Item.UncountableItemRepositoryAdapter;
+import pl.example.spring.api.ItemTotal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemTotalsTest {
+    private final ItemDatabase database = new ItemDatabase("item-totals");
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(database.dataSource());
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private ItemTotals totals;
+
+    @BeforeEach
+    public void setup() {
+        database.create();
+        jdbcTemplate.update("insert into countable_item (id, \"value\") values (1, 5), (2, 7)");
+        jdbcTemplate.update("insert into uncountable_item (id, \"value\") values (1, 0.5)");
+        totals = new ItemTotals(new CountableItemRepositoryAdapter(jdbcTemplate),
+                new UncountableItemRepositoryAdapter(jdbcTemplate), registry);
+        totals.load();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        database.drop();
+    }
+
+    @Test
+    public void loadsTotalsAndAppliesChanges() {
+        assertEquals(new ItemTotal(2, 12L), totals.total(ItemKind.COUNTABLE));
+        assertEquals(new ItemTotal(1, 0.5), totals.total(ItemKind.UNCOUNTABLE));
+
+        totals.countableChanged(1, 3);
+        totals.countableChanged(0, -2);
+        totals.uncountableChanged(-1, -0.5);
+
+        assertEquals(new ItemTotal(3, 13L), totals.total(ItemKind.COUNTABLE));
+        assertEquals(new ItemTotal(0, 0.0), totals.total(ItemKind.UNCOUNTABLE));
+    }
+
+    @Test
+    public void appliesChangesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            totals.countableChanged(1, 3);
+            assertEquals(new ItemTotal(2, 12L), totals.total(ItemKind.COUNTABLE));
+
+            var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            assertEquals(new ItemTotal(2, 12L), totals.total(ItemKind.COUNTABLE));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void reconciliationCorrectsDrift() {
+        jdbcTemplate.update("insert into countable_item (id, \"value\") values (3, 10)");
+        assertEquals(new ItemTotal(2, 12L), totals.total(ItemKind.COUNTABLE));
+
+        totals.reconcile();
+
+        assertEquals(new ItemTotal(3, 22L), totals.total(ItemKind.COUNTABLE));
+        assertEquals(1, registry.get("item.totals.drift").tag("kind", "countable").counter().count());
+        assertEquals(0, registry.get("item.totals.drift").tag("kind", "uncountable").counter().count());
+    }
+
+    @Test
+    public void reconciliationWaitsForWritesInFlight() {
+        jdbcTemplate.update("insert into countable_item (id, \"value\") values (3, 10)");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            totals.countableChanged(1, 10);
+            totals.reconcile();
+            assertEquals(new ItemTotal(2, 12L), totals.total(ItemKind.COUNTABLE));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        totals.reconcile();
+
+        assertEquals(new ItemTotal(3, 22L), totals.total(ItemKind.COUNTABLE));
+        assertEquals(0, registry.get("item.totals.drift").tag("kind", "countable").counter().count());
+    }
+}
@@ -0,0 +1,58 @@
+package pl.example.spring.unit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import pl.example.spring.client.Client;
+import pl.example.spring.client.ClientRepository;
+import pl.example.spring.client.ClientRepositoryAdapter;
+import pl.example.spring.metrics.RepositoryMetricsInterceptor;
+import pl.example.spring.metrics.StatementRecorder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RepositoryMetricsTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StatementRecorder statementRecorder = new StatementRecorder(10);
+
+    @Test
+    public void recordsResultSizeAndSlowCalls() {
+        var adapter = new ClientRepositoryAdapter();
+        adapter.save(Client.builder().id(1).name("a").build());
+        adapter.save(Client.builder().id(2).name("b").build());
+        var repository = instrumented(adapter, Duration.ZERO);
+
+        repository.findAll();
+        repository.findById(-1);
+
+        assertEquals(2.0, registry.get("repository.results").tag("method", "findAll").summary().totalAmount());
+        assertEquals(0.0, registry.get("repository.results").tag("method", "findById").summary().totalAmount());
+        assertEquals(1.0, registry.get("repository.slow.invocations").tag("method", "findAll").counter().count());
+    }
+
+    @Test
+    public void nestedRecordingsCountStatementsOfInnerOnes() {
+        try (var outer = statementRecorder.start()) {
+            statementRecorder.inspect("select 1");
+            try (var inner = statementRecorder.start()) {
+                statementRecorder.inspect("select 2");
+                assertEquals(1, inner.count());
+            }
+            statementRecorder.inspect("select 3");
+
+            assertEquals(3, outer.count());
+            assertEquals(List.of("select 1", "select 2", "select 3"), outer.statements());
+        }
+    }
+
+    private ClientRepository instrumented(ClientRepository repository, Duration slowQueryThreshold) {
+        var proxyFactory = new ProxyFactory(repository);
+        proxyFactory.addInterface(ClientRepository.class);
+        proxyFactory.addAdvice(new RepositoryMetricsInterceptor(
+                "ClientRepository", statementRecorder, () -> registry, slowQueryThreshold));
+        return (ClientRepository) proxyFactory.getProxy();
+    }
+}
@@ -0,0 +1,128 @@
+package pl.example.spring.unit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import pl.example.spring.client.Address;
+import pl.example.spring.client.Client;
+import pl.example.spring.security.DatabaseUserRepository;
+import pl.example.spring.security.User;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class SecondLevelCacheTest {
+    private SessionFactory sessionFactory;
+    private DatabaseUserRepository users;
+
+    @BeforeEach
+    public void setup() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Client.class)
+                .addAnnotatedClass(User.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:second-level-cache;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "true")
+                .setProperty(AvailableSettings.USE_QUERY_CACHE, "true")
+                // UserCredentialsListener needs the Spring context; its eviction is covered by AuthenticationCacheTest
+                .setProperty(AvailableSettings.JPA_CALLBACKS_ENABLED, "false")
+                .setProperty(AvailableSettings.CACHE_REGION_FACTORY, "jcache")
+                .setProperty("hibernate.javax.cache.provider",
+                        "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider")
+                .setProperty("hibernate.javax.cache.missing_cache_strategy", "create")
+                .setProperty(AvailableSettings.GENERATE_STATISTICS, "true")
+                .buildSessionFactory();
+        users = new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(sessionFactory))
+                .getRepository(DatabaseUserRepository.class);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    public void clientIsNotKeptInSecondLevelCache() {
+        long id = persist("abc");
+        var statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        sessionFactory.inSession(session -> session.find(Client.class, id));
+        var client = sessionFactory.fromSession(session -> session.find(Client.class, id));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getSecondLevelCachePutCount());
+        assertFalse(sessionFactory.getCache().containsEntity(Client.class, id));
+        assertEquals("Warszawa", client.getAddress().getCity());
+    }
+
+    @Test
+    public void clientIsLoadedByNaturalIdWithSingleStatement() {
+        long id = persist("abc");
+        var statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        var client = sessionFactory.fromSession(session -> session.bySimpleNaturalId(Client.class).load("abc"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getNaturalIdCachePutCount());
+        assertEquals(id, client.getId());
+    }
+
+    @Test
+    public void cachedUserIsFoundByUsernameWithoutStatements() {
+        long id = sessionFactory.fromTransaction(session -> {
+            var user = new User("alice", "secret", "USER");
+            session.persist(user);
+            return user.getId();
+        });
+        sessionFactory.getCache().evictAllRegions();
+        var statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        users.findByUsername("alice");
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals(1, statements);
+
+        var user = users.findByUsername("alice").orElseThrow();
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(id, user.getId());
+
+        assertEquals("alice", users.findById(id).orElseThrow().getUsername());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void writtenUserIsNotServedFromQueryCache() {
+        sessionFactory.inTransaction(session -> session.persist(new User("alice", "secret", "USER")));
+        users.findByUsername("alice");
+
+        sessionFactory.inTransaction(session -> session.persist(new User("bob", "secret", "USER")));
+        var statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        assertEquals("alice", users.findByUsername("alice").orElseThrow().getUsername());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+
+    private long persist(String name) {
+        long id = sessionFactory.fromTransaction(session -> {
+            var client = Client.builder()
+                    .name(name)
+                    .mail("bbc@abc.com")
+                    .address(Address.builder().street("ulica").buildingNumber(1).city("Warszawa")
+                            .postalCode("01-222").build())
+                    .build();
+            session.persist(client);
+            return client.getId();
+        });
+        sessionFactory.getCache().evictAllRegions();
+        return id;
+    }
+}
@@ -0,0 +1,65 @@
+package pl.example.spring.unit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import pl.example.spring.security.TokenProperties;
+import pl.example.spring.security.TokenService;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenServiceTest {
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final TokenService tokenService =
+            new TokenService(new TokenProperties(true, SECRET, Duration.ofMinutes(5)));
+
+    @Test
+    public void issuedTokenRestoresAuthentication() {
+        var token = tokenService.issue(UsernamePasswordAuthenticationToken.authenticated(
+                "user:with:colons", null, AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN")));
+
+        var authentication = tokenService.verify(token).orElseThrow();
+
+        assertTrue(authentication.isAuthenticated());
+        assertEquals("user:with:colons", authentication.getName());
+        assertEquals(
+                List.of("ROLE_USER", "ROLE_ADMIN"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    public void tamperedTokenIsRejected() {
+        var token = tokenService.issue(UsernamePasswordAuthenticationToken.authenticated(
+                "user", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        var forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("4102444800:ROLE_ADMIN:user".getBytes());
+
+        assertTrue(tokenService.verify(forgedPayload + token.substring(token.indexOf('.'))).isEmpty());
+        assertTrue(tokenService.verify("not a token").isEmpty());
+    }
+
+    @Test
+    public void expiredTokenIsRejected() {
+        var expiring = new TokenService(new TokenProperties(true, SECRET, Duration.ofSeconds(-1)));
+        var token = expiring.issue(UsernamePasswordAuthenticationToken.authenticated(
+                "user", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        assertTrue(expiring.verify(token).isEmpty());
+    }
+
+    @Test
+    public void shortSecretIsRejected() {
+        var secret = Base64.getEncoder().encodeToString(new byte[16]);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new TokenService(new TokenProperties(true, secret, Duration.ofMinutes(5))));
+    }
+}
@@ -0,0 +1,95 @@
+package pl.example.spring.unit;
+
+import org.junit.jupiter.api.Test;
+import pl.example.spring.metrics.ClusterVisitCount;
+import pl.example.spring.metrics.InMemoryVisitCountRepository;
+import pl.example.spring.metrics.VisitCount;
+import pl.example.spring.metrics.VisitCountFlusher;
+import pl.example.spring.metrics.VisitCounter;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VisitCountFlusherTest {
+    private static final String NODE = "node-1";
+    private static final Instant NOW = Instant.ofEpochSecond(1_000_000);
+
+    private final InMemoryVisitCountRepository repository = new InMemoryVisitCountRepository();
+    private final VisitCounter visitCounter = new VisitCounter(Clock.fixed(NOW, ZoneOffset.UTC));
+    private final VisitCountFlusher flusher = new VisitCountFlusher(visitCounter, repository, NODE);
+    private final ClusterVisitCount clusterVisitCount = new ClusterVisitCount(visitCounter, repository, NODE);
+
+    @Test
+    public void restoresStoredTotalAtStartup() {
+        repository.save(new VisitCount(NODE, 40, NOW));
+        repository.save(new VisitCount("node-2", 7, NOW));
+
+        flusher.restore();
+        assertEquals(40, visitCounter.total());
+
+        visit(2);
+        flusher.flush();
+        assertEquals(42, storedVisits(NODE));
+        assertEquals(42, visitCounter.total());
+    }
+
+    @Test
+    public void keepsVisitsOfFailedFlushAndRetriesThem() {
+        visit(3);
+        repository.setFailing(true);
+
+        flusher.flush();
+        assertEquals(3, visitCounter.unflushed());
+        assertEquals(3, visitCounter.total());
+
+        repository.setFailing(false);
+        visit(2);
+        flusher.flush();
+        assertEquals(5, storedVisits(NODE));
+        assertEquals(0, visitCounter.unflushed());
+        assertEquals(5, visitCounter.total());
+    }
+
+    @Test
+    public void clusterTotalAddsOtherNodesWithoutCountingThisNodeTwice() {
+        repository.save(new VisitCount(NODE, 10, NOW));
+        repository.save(new VisitCount("node-2", 20, NOW));
+        repository.save(new VisitCount("node-3", 5, NOW));
+        flusher.restore();
+
+        clusterVisitCount.refresh();
+        assertEquals(35, clusterVisitCount.total());
+
+        visit(3);
+        assertEquals(38, clusterVisitCount.total());
+        flusher.flush();
+        clusterVisitCount.refresh();
+        assertEquals(38, clusterVisitCount.total());
+    }
+
+    @Test
+    public void clusterTotalKeepsOtherNodesWhenRefreshFails() {
+        repository.save(new VisitCount("node-2", 20, NOW));
+        clusterVisitCount.refresh();
+        visit(1);
+
+        repository.setFailing(true);
+        clusterVisitCount.refresh();
+
+        assertEquals(21, clusterVisitCount.total());
+    }
+
+    private void visit(int count) {
+        for (int i = 0; i < count; i++) {
+            visitCounter.increment();
+        }
+        visitCounter.sample();
+    }
+
+    private long storedVisits(String node) {
+        return repository.findById(node).orElseThrow().getVisits();
+    }
+}
@@ -0,0 +1,102 @@
+package pl.example.spring.unit;
+
+import org.junit.jupiter.api.Test;
+import pl.example.spring.metrics.VisitCounter;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class VisitCounterTest {
+    private final MutableClock clock = new MutableClock(Instant.ofEpochSecond(1_000_000));
+    private final VisitCounter visitCounter = new VisitCounter(clock);
+
+    @Test
+    public void ratesCoverSampledSeconds() {
+        visit(5);
+        visit(3);
+
+        var stats = visitCounter.stats();
+        assertEquals(8, stats.total());
+        assertEquals(3, stats.perSecond());
+        assertEquals(8, stats.lastMinute());
+        assertEquals(8, stats.lastHour());
+        assertEquals(8, stats.lastDay());
+        assertNull(stats.minuteTrend());
+    }
+
+    @Test
+    public void minuteTrendComparesWithPreviousMinute() {
+        visit(10);
+        clock.advance(59);
+        visit(15);
+
+        var stats = visitCounter.stats();
+        assertEquals(15, stats.lastMinute());
+        assertEquals(0.5, stats.minuteTrend());
+    }
+
+    @Test
+    public void oldSecondsLeaveTheMinuteWindow() {
+        visit(4);
+        clock.advance(120);
+        visit(1);
+
+        var stats = visitCounter.stats();
+        assertEquals(1, stats.lastMinute());
+        assertEquals(5, stats.lastHour());
+    }
+
+    @Test
+    public void totalIncludesRestoredAndUnflushedVisits() {
+        visitCounter.restore(100);
+        visit(2);
+        visitCounter.increment();
+
+        assertEquals(103, visitCounter.total());
+        assertEquals(2, visitCounter.unflushed());
+
+        visitCounter.flushed(2);
+        assertEquals(103, visitCounter.total());
+        assertEquals(0, visitCounter.unflushed());
+    }
+
+    private void visit(int count) {
+        for (int i = 0; i < count; i++) {
+            visitCounter.increment();
+        }
+        clock.advance(1);
+        visitCounter.sample();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(long seconds) {
+            instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}